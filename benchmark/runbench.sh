@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+
+# create bin directory if it doesn't exist
+if [ ! -d "../bin" ]
+then
+    mkdir ../bin
+fi
+
+# compile the code and the benchmarks into the bin folder, terminates if error occurred
+if ! javac -Xlint:none -d ../bin $(find ../src/main/java ../src/bench/java -name "*.java")
+then
+    echo "********** BUILD FAILURE **********"
+    exit 1
+fi
+
+# run the benchmarks, passing on any options
+# eg. ./runbench.sh --sizes 1000,100000 --out after.csv --baseline before.csv
+java -Xmx4g -classpath ../bin duke.bench.DukeBenchmarks "$@"
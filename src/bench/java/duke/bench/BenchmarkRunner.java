@@ -0,0 +1,120 @@
+package duke.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BenchmarkRunner class that times each benchmark over several iterations after warming it up,
+ * and reports the median time per operation, compared against an earlier run if one is given.
+ */
+public class BenchmarkRunner {
+
+    private final int warmups;
+    private final int iterations;
+    // Median nanoseconds per operation of each benchmark that has been run, in order
+    private final Map<String, Double> results = new LinkedHashMap<>();
+    // Median nanoseconds per operation from an earlier run, empty if there is no baseline
+    private final Map<String, Double> baseline;
+    // Every result is folded into this, so that the work being timed cannot be optimised away
+    private long sink;
+
+    /**
+     * Initialises the runner with the number of iterations for every benchmark.
+     *
+     * @param warmups Number of untimed iterations before timing starts.
+     * @param iterations Number of timed iterations.
+     * @param baseline Results of an earlier run to compare against, or an empty Map.
+     */
+    public BenchmarkRunner(int warmups, int iterations, Map<String, Double> baseline) {
+        this.warmups = warmups;
+        this.iterations = iterations;
+        this.baseline = baseline;
+    }
+
+    /**
+     * Runs a benchmark, then prints and records its median time per operation.
+     *
+     * @param name Name of the benchmark, used to match it against the baseline.
+     * @param operations Number of operations done in each iteration.
+     * @param benchmark Does one iteration of the work being timed.
+     * @throws Exception If the benchmark fails.
+     */
+    public void run(String name, int operations, Benchmark benchmark) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            sink += benchmark.run();
+        }
+        long[] times = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            sink += benchmark.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        double nanosPerOp = (double) times[times.length / 2] / operations;
+        results.put(name, nanosPerOp);
+
+        String line = String.format("%-28s %14.1f ns/op %14.0f ops/s", name, nanosPerOp, 1e9 / nanosPerOp);
+        Double baselineNanos = baseline.get(name);
+        if (baselineNanos != null) {
+            line += String.format("   %+7.1f%% vs baseline", (nanosPerOp - baselineNanos) * 100 / baselineNanos);
+        }
+        System.out.println(line);
+    }
+
+    /**
+     * Get the value every result was folded into.
+     *
+     * @return Sum of all results, which is meaningless but keeps the work from being optimised away.
+     */
+    public long getSink() {
+        return sink;
+    }
+
+    /**
+     * Writes the results as CSV, which can later be read back as a baseline.
+     *
+     * @param path Location of the CSV file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeResults(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("benchmark,ns_per_op\n");
+            for (Map.Entry<String, Double> result : results.entrySet()) {
+                writer.write(result.getKey() + "," + result.getValue() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Reads results written by {@link #writeResults(Path)}.
+     *
+     * @param path Location of the CSV file.
+     * @return Median nanoseconds per operation of each benchmark.
+     * @throws IOException If the file cannot be read.
+     */
+    public static Map<String, Double> readResults(Path path) throws IOException {
+        Map<String, Double> readResults = new HashMap<>();
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            int comma = line.lastIndexOf(',');
+            readResults.put(line.substring(0, comma), Double.parseDouble(line.substring(comma + 1)));
+        }
+        return readResults;
+    }
+
+    /**
+     * One iteration of the work being timed.
+     */
+    public interface Benchmark {
+        long run() throws Exception;
+    }
+
+}
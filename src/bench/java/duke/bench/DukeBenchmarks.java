@@ -0,0 +1,194 @@
+package duke.bench;
+
+import duke.Parser;
+import duke.Storage;
+import duke.Ui;
+import duke.command.ListCommand;
+import duke.task.ListFilter;
+import duke.task.ListOrder;
+import duke.task.Task;
+import duke.task.TaskList;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * DukeBenchmarks class that times loading and saving, command parsing, find, date and Task rendering
+ * against generated save files of several sizes.
+ *
+ * Usage: {@code DukeBenchmarks [--sizes 1000,100000,1000000] [--warmups N] [--iterations N]
+ * [--only NAME] [--out FILE] [--baseline FILE]}
+ */
+public class DukeBenchmarks {
+
+    private static final long SEED = 1;
+    // Number of commands parsed, and of queries run, in each iteration
+    private static final int COMMAND_COUNT = 10000;
+    private static final int QUERY_COUNT = 20;
+    private static final String[] KEYWORDS = {"book", "meeting 12", "ort", "gym", "holiday 9", "zzz"};
+
+    private final BenchmarkRunner runner;
+    private final String only;
+    // Ui that discards all output
+    private final Ui ui = new Ui(OutputStream.nullOutputStream());
+
+    private DukeBenchmarks(BenchmarkRunner runner, String only) {
+        this.runner = runner;
+        this.only = only;
+    }
+
+    private void run(String name, int operations, BenchmarkRunner.Benchmark benchmark) throws Exception {
+        if (only == null || name.startsWith(only)) {
+            runner.run(name, operations, benchmark);
+        }
+    }
+
+    /**
+     * Times parsing of a mix of commands, which does not depend on the number of Tasks.
+     */
+    private void runParserBenchmarks() throws Exception {
+        Random random = new Random(SEED);
+        String[] commands = new String[COMMAND_COUNT];
+        for (int i = 0; i < commands.length; i++) {
+            switch (i % 5) {
+            case 0:
+                commands[i] = "mark " + (1 + random.nextInt(100));
+                break;
+            case 1:
+                commands[i] = "find " + KEYWORDS[random.nextInt(KEYWORDS.length)];
+                break;
+            default:
+                commands[i] = SaveFileGenerator.generateCommand(random, i);
+                break;
+            }
+        }
+        run("parser.getCommand", commands.length, () -> {
+            long parsed = 0;
+            for (String command : commands) {
+                parsed += (Parser.getCommand(command, ui, 100) == null) ? 0 : 1;
+            }
+            return parsed;
+        });
+    }
+
+    /**
+     * Times each benchmark that depends on the number of Tasks, against a save file of the given size.
+     */
+    private void runSizeBenchmarks(Path dir, int size) throws Exception {
+        Path savePath = dir.resolve("save-" + size + ".txt");
+        SaveFileGenerator.generate(savePath, size, SEED);
+        run("storage.load." + size, 1, () -> new Storage(savePath.toString()).load(ui).size());
+
+        Storage storage = new Storage(savePath.toString());
+        TaskList tasks = new TaskList(storage.load(ui));
+        Storage updateStorage = new Storage(dir.resolve("update-" + size + ".txt").toString());
+        run("storage.update." + size, 1, () -> {
+            updateStorage.update(tasks);
+            return tasks.getSize();
+        });
+
+        run("tasklist.findTasks." + size, QUERY_COUNT, () -> {
+            long found = 0;
+            for (int i = 0; i < QUERY_COUNT; i++) {
+                found += tasks.findTasks(KEYWORDS[i % KEYWORDS.length]).size();
+            }
+            return found;
+        });
+
+        LocalDate firstDate = LocalDate.of(2023, 1, 1);
+        run("tasklist.getTasksOnDate." + size, QUERY_COUNT, () -> {
+            long found = 0;
+            for (int i = 0; i < QUERY_COUNT; i++) {
+                found += tasks.getTasksOnDate(firstDate.plusDays(i * 37L)).size();
+            }
+            return found;
+        });
+
+        List<Task> allTasks = tasks.getAllTasks();
+        run("task.toString." + size, size, () -> {
+            long length = 0;
+            for (Task task : allTasks) {
+                length += task.toString().length();
+            }
+            return length;
+        });
+        run("ui.printList." + size, size, () -> {
+            ui.printList(allTasks, tasks.iterateTasks(ListFilter.ALL, ListOrder.INDEX, LocalDateTime.now()),
+                    ListFilter.ALL, ListOrder.INDEX, 0, ListCommand.DEFAULT_PAGE_SIZE, false);
+            ui.flush();
+            return allTasks.size();
+        });
+    }
+
+    /**
+     * Runs every benchmark, or only those starting with the name given by {@code --only}.
+     */
+    public static void main(String[] args) throws Exception {
+        String sizes = "1000,100000,1000000";
+        int warmups = 2;
+        int iterations = 5;
+        String only = null;
+        Path out = null;
+        Map<String, Double> baseline = Collections.emptyMap();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+            case "--sizes":
+                sizes = args[i + 1];
+                break;
+            case "--warmups":
+                warmups = Integer.parseInt(args[i + 1]);
+                break;
+            case "--iterations":
+                iterations = Integer.parseInt(args[i + 1]);
+                break;
+            case "--only":
+                only = args[i + 1];
+                break;
+            case "--out":
+                out = Paths.get(args[i + 1]);
+                break;
+            case "--baseline":
+                baseline = BenchmarkRunner.readResults(Paths.get(args[i + 1]));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(warmups, iterations, baseline);
+        DukeBenchmarks benchmarks = new DukeBenchmarks(runner, only);
+        Path dir = Files.createTempDirectory("duke-bench");
+        try {
+            benchmarks.runParserBenchmarks();
+            for (String size : sizes.split(",")) {
+                benchmarks.runSizeBenchmarks(dir, Integer.parseInt(size.trim()));
+            }
+        } finally {
+            deleteAll(dir);
+        }
+        if (out != null) {
+            runner.writeResults(out);
+        }
+        System.out.println("(sink " + runner.getSink() + ")");
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(dir);
+    }
+
+}
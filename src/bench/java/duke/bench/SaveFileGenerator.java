@@ -0,0 +1,117 @@
+package duke.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * SaveFileGenerator class that writes synthetic text save files of any size, for benchmarks to load.
+ * The same count and seed always produce the same file, so results can be compared between runs.
+ */
+public class SaveFileGenerator {
+
+    private static final String[] WORDS = {
+        "read", "book", "return", "join", "sports", "club", "project", "meeting", "submit", "tutorial",
+        "holiday", "lunch", "report", "review", "call", "email", "groceries", "gym", "lecture", "quiz"
+    };
+    private static final String[] FREE_TEXT_DATES = {"June 6th", "tomorrow", "2pm", "4pm", "next week"};
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    // Range of days that generated dates fall within
+    private static final int DAYS = 730;
+
+    /**
+     * Writes a save file with the given number of Tasks.
+     * About a third of the Tasks are each of ToDos, Deadlines and Events, a third are done,
+     * and one in ten dates cannot be parsed.
+     *
+     * @param path Location of the save file to write.
+     * @param count Number of Tasks to write.
+     * @param seed Seed for the random contents.
+     * @throws IOException If the save file cannot be written.
+     */
+    public static void generate(Path path, int count, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(generateLine(random, i));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Generates a command line that adds a Task, as typed by the user.
+     *
+     * @param random Source of the random contents.
+     * @param i Number of the Task, included in its description.
+     * @return Command line for a todo, deadline or event.
+     */
+    public static String generateCommand(Random random, int i) {
+        String desc = generateDescription(random, i);
+        switch (random.nextInt(3)) {
+        case 0:
+            return "todo " + desc;
+        case 1:
+            return "deadline " + desc + " /by " + generateDate(random);
+        default:
+            return "event " + desc + " /from " + generateDate(random) + " /to " + generateDate(random);
+        }
+    }
+
+    private static String generateLine(Random random, int i) {
+        String stat = (random.nextInt(3) == 0) ? "X" : " ";
+        String desc = generateDescription(random, i);
+        switch (random.nextInt(3)) {
+        case 0:
+            return "T | " + stat + " | " + desc;
+        case 1:
+            return "D | " + stat + " | " + desc + " /by " + generateDate(random);
+        default:
+            LocalDateTime from = START.plusMinutes(random.nextInt(DAYS * 24 * 60));
+            LocalDateTime to = from.plusMinutes(random.nextInt(7 * 24 * 60));
+            if (random.nextInt(10) == 0) {
+                return "E | " + stat + " | " + desc + " /from " + pick(random, FREE_TEXT_DATES) + " /to " + to;
+            }
+            return "E | " + stat + " | " + desc + " /from " + from + " /to " + to;
+        }
+    }
+
+    private static String generateDescription(Random random, int i) {
+        int wordCount = 1 + random.nextInt(4);
+        StringBuilder desc = new StringBuilder();
+        for (int j = 0; j < wordCount; j++) {
+            desc.append(pick(random, WORDS)).append(' ');
+        }
+        return desc.append(i).toString();
+    }
+
+    private static String generateDate(Random random) {
+        if (random.nextInt(10) == 0) {
+            return pick(random, FREE_TEXT_DATES);
+        }
+        return START.plusMinutes(random.nextInt(DAYS * 24 * 60)).toString();
+    }
+
+    private static String pick(Random random, String[] choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+
+    /**
+     * Writes a save file with the given number of Tasks.
+     * Usage: {@code SaveFileGenerator COUNT PATH [SEED]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SaveFileGenerator COUNT PATH [SEED]");
+            System.exit(1);
+        }
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : 1;
+        generate(Paths.get(args[1]), Integer.parseInt(args[0]), seed);
+    }
+
+}
@@ -1,9 +1,15 @@
 package duke;
 
 import duke.command.Command;
-import duke.task.TaskList;
+import duke.command.ExitCommand;
+import duke.metrics.PrometheusExporter;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.rmi.UnexpectedException;
 
 /**
@@ -12,21 +18,58 @@ import java.rmi.UnexpectedException;
 public class Duke {
 
     public static final String FILE_PATH = "save.txt";
-    private static Storage storage;
-    private static TaskList tasks;
-    private static Ui ui;
+    // Set with -Dduke.journal=true to append changes to a journal instead of rewriting the save file
+    public static final boolean IS_JOURNALED = Boolean.getBoolean("duke.journal");
+    // Set with -Dduke.format=binary to write the save file in the binary format
+    public static final boolean IS_BINARY = "binary".equals(System.getProperty("duke.format"));
+    // Set with -Dduke.fsync=always|interval|never to batch changes on a background writer
+    public static final String FSYNC_POLICY = System.getProperty("duke.fsync");
+    // Set with -Dduke.load=lazy to build Tasks from the save file only when they are accessed,
+    // or -Dduke.load=parallel to parse a text save file on several threads
+    public static final String LOAD_MODE = System.getProperty("duke.load", "eager");
+    // Set with -Dduke.index=true to look up find keywords in an index instead of checking every task
+    public static final boolean IS_INDEXED = Boolean.getBoolean("duke.index");
+    // Set with -Dduke.columnar=true to hold tasks as columns of primitives instead of as objects
+    public static final boolean IS_COLUMNAR = Boolean.getBoolean("duke.columnar");
+    // Set with -Dduke.batch=FILE, or - for standard input, to run every command in the file and then save once
+    public static final String BATCH_PATH = System.getProperty("duke.batch");
+    // Set with -Dduke.batch.checkpoint=N to also save after every N commands in batch mode
+    public static final int BATCH_CHECKPOINT = Integer.getInteger("duke.batch.checkpoint", 0);
+    // Set with -Dduke.server=PORT to serve sessions to many clients over a local socket instead
+    public static final Integer SERVER_PORT = Integer.getInteger("duke.server");
+    // Set with -Dduke.metrics.file=FILE to export metrics to the file in the Prometheus text format
+    public static final String METRICS_PATH = System.getProperty("duke.metrics.file");
+    // Set with -Dduke.metrics.interval=MILLIS to change how often metrics are exported
+    public static final long METRICS_INTERVAL = Long.getLong("duke.metrics.interval", 10000);
+    // Set with -Dduke.list.idle=MILLIS to change how long a list other than the one in use stays loaded
+    public static final long LIST_IDLE = Long.getLong("duke.list.idle", 600000);
+    // Set with -Dduke.remind=LEADS, such as 1d,1h,15m, to be reminded that long before each deadline is due
+    // and each event starts, in s, m, h or d
+    public static final String REMIND_LEADS = System.getProperty("duke.remind");
+    // Set with -Dduke.undo.limit=N to change how many commands can be undone, or 0 to turn undo off
+    public static final int UNDO_LIMIT = Integer.getInteger("duke.undo.limit", 100);
+    private final TaskLists lists;
+    private final Ui ui;
+    // Raises reminders on the Ui of each session once started, null if reminders are off or in batch mode
+    private ReminderScheduler reminders;
 
     /**
-     * Initialises Ui, Storage, and TaskList.
+     * Initialises Ui and the TaskLists, and loads the main list.
      *
-     * @param filePath Location of the local save file.
+     * @param filePath Location of the local save file of the main list.
      */
     public Duke(String filePath) {
         ui = new Ui();
-        storage = new Storage(filePath);
+        if (METRICS_PATH != null) {
+            new PrometheusExporter(Paths.get(METRICS_PATH)).start(METRICS_INTERVAL);
+        }
+        lists = new TaskLists(filePath, LIST_IDLE);
+        if (REMIND_LEADS != null && BATCH_PATH == null) {
+            reminders = new ReminderScheduler(ReminderScheduler.parseLeadTimes(REMIND_LEADS));
+            lists.setReminders(reminders);
+        }
         try {
-            tasks = new TaskList(storage.load(ui));
-            storage.update(tasks);
+            lists.use(TaskLists.MAIN_NAME, ui);
             ui.printWelcomeMessage();
         } catch (IOException e) {
             ui.printErrorForIO();
@@ -40,27 +83,138 @@ public class Duke {
      * @throws UnexpectedException If command cannot be executed for an unexpected reason.
      */
     public void run() throws UnexpectedException {
+        if (reminders != null) {
+            reminders.subscribe(ui);
+        }
+        startReminders();
         boolean isExit = false;
         while (!isExit) {
             String fullCommand = ui.readCommand();
             ui.showLine();
-            Command c = Parser.getCommand(fullCommand, ui, tasks.getSize());
+            Command c = Parser.getCommand(fullCommand, ui, lists.getTasks().getSize());
             if (c != null) {
-                c.execute(tasks, ui, storage);
+                c.executeTimed(lists, ui);
                 isExit = c.isExit;
             }
             ui.showLine();
+            ui.flush();
+        }
+    }
+
+    /**
+     * Reads and executes every command until the end of the input, or until ExitCommand is called.
+     * Changes are saved once at the end, and after every {@code checkpoint} commands if it is positive,
+     * instead of after each command. The throughput of each batch of commands is printed after it is saved,
+     * and output is only flushed along with each save.
+     *
+     * @param commands Input to read commands from, one per line.
+     * @param checkpoint Number of commands to run between saves, or 0 to save only at the end.
+     * @throws UnexpectedException If command cannot be executed for an unexpected reason.
+     * @throws IOException If the commands cannot be read.
+     */
+    public void runBatch(BufferedReader commands, int checkpoint) throws UnexpectedException, IOException {
+        lists.setDeferred(true);
+        int count = 0;
+        int batchCount = 0;
+        long batchStart = System.nanoTime();
+        boolean isExit = false;
+        String fullCommand;
+        while (!isExit && (fullCommand = commands.readLine()) != null) {
+            ui.showLine();
+            Command c = Parser.getCommand(fullCommand, ui, lists.getTasks().getSize());
+            if (c != null) {
+                if (c instanceof ExitCommand) {
+                    ui.printBatchReport(batchCount, count, saveBatch(), System.nanoTime() - batchStart);
+                }
+                c.executeTimed(lists, ui);
+                isExit = c.isExit;
+            }
+            ui.showLine();
+            count++;
+            batchCount++;
+            if (!isExit && batchCount == checkpoint) {
+                ui.showLine();
+                ui.printBatchReport(batchCount, count, saveBatch(), System.nanoTime() - batchStart);
+                ui.showLine();
+                ui.flush();
+                batchCount = 0;
+                batchStart = System.nanoTime();
+            }
+        }
+        if (!isExit) {
+            ui.showLine();
+            ui.printBatchReport(batchCount, count, saveBatch(), System.nanoTime() - batchStart);
+            try {
+                lists.close();
+            } catch (IOException e) {
+                ui.printErrorForIO();
+            }
+            ui.showLine();
         }
     }
 
     /**
-     * Initialises and runs Duke.
+     * Serves sessions to clients connecting to the given port, sharing the main list between them,
+     * until the process is stopped.
+     *
+     * @param port Port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public void serve(int port) throws IOException {
+        startReminders();
+        new Server(lists.getTasks(), lists.getStorage(), reminders).serve(port, ui);
+    }
+
+    /**
+     * Starts raising reminders if they are on.
+     */
+    private void startReminders() {
+        if (reminders != null) {
+            reminders.start();
+        }
+    }
+
+    /**
+     * Saves the changes held back in every loaded list during a batch of commands.
+     *
+     * @return {@code true} if the changes were saved, {@code false} otherwise.
+     */
+    private boolean saveBatch() {
+        try {
+            lists.saveDeferred();
+            return true;
+        } catch (IOException e) {
+            ui.printErrorForIO();
+            return false;
+        }
+    }
+
+    /**
+     * Initialises and runs Duke, reading commands from the batch file instead if one is given,
+     * or serving clients if a server port is given.
      */
     public static void main(String[] args) {
+        Duke duke = new Duke(FILE_PATH);
+        Ui ui = duke.ui;
         try {
-            new Duke(FILE_PATH).run();
+            if (SERVER_PORT != null) {
+                duke.serve(SERVER_PORT);
+            } else if (BATCH_PATH == null) {
+                duke.run();
+            } else if (BATCH_PATH.equals("-")) {
+                duke.runBatch(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                        BATCH_CHECKPOINT);
+            } else {
+                try (BufferedReader commands = Files.newBufferedReader(Paths.get(BATCH_PATH))) {
+                    duke.runBatch(commands, BATCH_CHECKPOINT);
+                }
+            }
         } catch (UnexpectedException exception) {
             ui.printUnexpectedException(exception);
+        } catch (IOException exception) {
+            ui.printErrorForIO();
+        } finally {
+            ui.flush();
         }
         System.exit(0);
     }
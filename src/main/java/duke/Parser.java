@@ -1,22 +1,38 @@
 package duke;
 
 import duke.command.AddCommand;
+import duke.command.BulkModifyCommand;
 import duke.command.Command;
 import duke.command.DateCommand;
 import duke.command.ExitCommand;
+import duke.command.ExportCommand;
 import duke.command.FindCommand;
 import duke.command.HelpCommand;
 import duke.command.ListCommand;
 import duke.command.ModifyCommand;
+import duke.command.OverdueCommand;
+import duke.command.StatsCommand;
+import duke.command.UndoCommand;
+import duke.command.UpcomingCommand;
+import duke.command.UseCommand;
 import duke.exception.EmptyKeywordException;
 import duke.exception.EmptyTaskDescException;
 import duke.exception.IllegalCommandException;
 import duke.exception.InvalidDateTime;
 import duke.exception.InvalidDeadline;
 import duke.exception.InvalidEvent;
+import duke.exception.InvalidListName;
+import duke.exception.InvalidListOption;
+import duke.exception.InvalidPeriod;
+import duke.exception.InvalidSelection;
+import duke.metrics.Metrics;
+import duke.task.ListFilter;
+import duke.task.ListOrder;
+import duke.task.TaskSelection;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
 
 /**
  * Parser class that makes sense of user commands or text.
@@ -28,6 +44,8 @@ public class Parser {
     public static final String COMMAND_HELP_WORD = "help";
     public static final String COMMAND_LIST_WORD = "list";
     public static final String COMMAND_DATE_WORD = "date";
+    public static final String COMMAND_OVERDUE_WORD = "overdue";
+    public static final String COMMAND_UPCOMING_WORD = "upcoming";
     public static final String COMMAND_FIND_WORD = "find";
     public static final String COMMAND_MARK_WORD = "mark";
     public static final String COMMAND_UNMARK_WORD = "unmark";
@@ -35,9 +53,42 @@ public class Parser {
     public static final String COMMAND_TODO_WORD = "todo";
     public static final String COMMAND_DEADLINE_WORD = "deadline";
     public static final String COMMAND_EVENT_WORD = "event";
+    public static final String COMMAND_EXPORT_WORD = "export";
+    public static final String COMMAND_STATS_WORD = "stats";
+    public static final String COMMAND_USE_WORD = "use";
+    public static final String COMMAND_UNDO_WORD = "undo";
+    public static final String COMMAND_REDO_WORD = "redo";
+    // Every command word, which metrics are recorded against, so that unknown words do not each get their own
+    private static final Set<String> COMMAND_WORDS = Set.of(COMMAND_EXIT_WORD, COMMAND_HELP_WORD, COMMAND_LIST_WORD,
+            COMMAND_DATE_WORD, COMMAND_FIND_WORD, COMMAND_MARK_WORD, COMMAND_UNMARK_WORD, COMMAND_DELETE_WORD,
+            COMMAND_TODO_WORD, COMMAND_DEADLINE_WORD, COMMAND_EVENT_WORD, COMMAND_EXPORT_WORD, COMMAND_STATS_WORD,
+            COMMAND_USE_WORD, COMMAND_OVERDUE_WORD, COMMAND_UPCOMING_WORD, COMMAND_UNDO_WORD, COMMAND_REDO_WORD);
+    // Flag before the keyword of find, or the date of date, to search every list instead of the one in use
+    public static final String ALL_LISTS_FLAG = "--all";
+    // Words that select many tasks at once for mark, unmark and delete, instead of a single index
+    public static final String SELECT_ALL_WORD = "all";
+    public static final String SELECT_DONE_WORD = "done";
+    public static final String SELECT_UNDONE_WORD = "undone";
+    public static final String SELECT_KEYWORD_PREFIX = "find:";
+    public static final char SELECT_RANGE_SEPARATOR = '-';
+    // Marks a task given by its ID instead of its index, for mark, unmark and delete
+    public static final String ID_PREFIX = "#";
+    // Flag of list to show the ID of each task
+    public static final String LIST_IDS_FLAG = "--ids";
+    // Flag of list followed by the number of tasks on each page
+    public static final String LIST_PAGE_SIZE_FLAG = "--page-size";
+    // Flag of list followed by the date to sort tasks by
+    public static final String LIST_SORT_FLAG = "--sort";
+    // Words that separate the dates of Deadlines and Events from their descriptions
+    public static final String BY_WORD = "/by";
+    public static final String FROM_WORD = "/from";
+    public static final String TO_WORD = "/to";
+    private static final String[] EVENT_WORDS = {FROM_WORD, TO_WORD};
 
     /**
      * Returns the corresponding Command to the user input.
+     * Sets the command word as the type of command that Metrics on this thread are recorded against,
+     * then records how long parsing took.
      *
      * @param userCommand Command line input from user.
      * @param ui Prints out error messages if command cannot be parsed.
@@ -45,9 +96,18 @@ public class Parser {
      * @return Corresponding Command class to user input.
      */
     public static Command getCommand(String userCommand, Ui ui, int size) {
-        final String[] split = userCommand.trim().split("\\s+", 2);
+        long startNanos = System.nanoTime();
+        int end = Tokenizer.trimEnd(userCommand, 0, userCommand.length());
+        int start = Tokenizer.trimStart(userCommand, 0, end);
+        int commandEnd = Tokenizer.indexOfWhitespace(userCommand, start, end);
+        String command = userCommand.substring(start, (commandEnd < 0) ? end : commandEnd);
+        String param = null;
+        if (commandEnd >= 0) {
+            param = userCommand.substring(Tokenizer.skipWhitespace(userCommand, commandEnd, end), end);
+        }
+        Metrics.setCommand(COMMAND_WORDS.contains(command) ? command : Metrics.INVALID_COMMAND);
         try {
-            return parseCommand(split, size);
+            return parseCommand(command, param, size);
         } catch (IllegalCommandException e) {
             ui.printInvalidCommand();
         } catch (EmptyTaskDescException e) {
@@ -62,6 +122,16 @@ public class Parser {
             ui.printInvalidEvent();
         } catch (InvalidDateTime e) {
             ui.printInvalidDateTime();
+        } catch (InvalidListName e) {
+            ui.printInvalidListName();
+        } catch (InvalidSelection e) {
+            ui.printInvalidSelection();
+        } catch (InvalidListOption e) {
+            ui.printInvalidListOption();
+        } catch (InvalidPeriod e) {
+            ui.printInvalidPeriod();
+        } finally {
+            Metrics.record(Metrics.Stage.PARSE, startNanos);
         }
         return null;
     }
@@ -69,7 +139,8 @@ public class Parser {
     /**
      * Adds data from user input into the corresponding Command class that is returned.
      *
-     * @param split Parsed user input split into command and parameter.
+     * @param command Command word from user input.
+     * @param param Rest of the user input after the command word, or null if there is none.
      * @param size Number of tasks saved in TaskList.
      * @return Command class with data from user input.
      * @throws InvalidDateTime If the input format for a date and time is wrong.
@@ -78,43 +149,103 @@ public class Parser {
      * @throws EmptyTaskDescException If task description is left empty (for Add command).
      * @throws InvalidDeadline If the input format for adding a deadline is wrong.
      * @throws InvalidEvent If the input format for adding an event is wrong.
+     * @throws InvalidListName If the name of a list contains characters that cannot be used (for Use command).
+     * @throws InvalidSelection If a selection of many tasks is in the wrong format (for Mark, Delete commands).
+     * @throws InvalidListOption If the filter, page or page size is in the wrong format (for List command).
+     * @throws InvalidPeriod If the number of days is in the wrong format (for Upcoming command).
      * @throws IllegalCommandException If an unknown command is input by the user.
      */
-    private static Command parseCommand(String[] split, int size)
+    private static Command parseCommand(String command, String param, int size)
             throws InvalidDateTime, EmptyKeywordException, EmptyTaskDescException, InvalidDeadline, InvalidEvent,
-            IllegalCommandException, NumberFormatException {
-        String command = split[0];
+            InvalidListName, InvalidSelection, InvalidListOption, InvalidPeriod, IllegalCommandException,
+            NumberFormatException {
         switch (command) {
         case COMMAND_EXIT_WORD:
             return new ExitCommand();
         case COMMAND_HELP_WORD:
             return new HelpCommand();
         case COMMAND_LIST_WORD:
-            return new ListCommand();
+            if (isEmptyParam(param)) {
+                return new ListCommand();
+            }
+            return parseList(param);
         case COMMAND_DATE_WORD:
-            if (isEmptyParam(split)) {
+            if (isEmptyParam(param)) {
                 throw new InvalidDateTime();
             }
-            return new DateCommand(split[1]);
+            if (isAllLists(param)) {
+                return new DateCommand(stripAllListsFlag(param), true);
+            }
+            return new DateCommand(param);
+        case COMMAND_OVERDUE_WORD:
+            if (isEmptyParam(param)) {
+                return new OverdueCommand(false);
+            }
+            if (param.equals(ALL_LISTS_FLAG)) {
+                return new OverdueCommand(true);
+            }
+            throw new IllegalCommandException();
+        case COMMAND_UPCOMING_WORD:
+            if (isEmptyParam(param)) {
+                throw new InvalidPeriod();
+            }
+            if (isAllLists(param)) {
+                return new UpcomingCommand(stripAllListsFlag(param), true);
+            }
+            return new UpcomingCommand(param, false);
         case COMMAND_FIND_WORD:
-            if (isEmptyParam(split)) {
+            if (isEmptyParam(param)) {
                 throw new EmptyKeywordException();
             }
-            return new FindCommand(split[1]);
+            if (isAllLists(param)) {
+                String keyword = stripAllListsFlag(param);
+                if (keyword.isEmpty()) {
+                    throw new EmptyKeywordException();
+                }
+                return new FindCommand(keyword, true);
+            }
+            return new FindCommand(param);
         case COMMAND_MARK_WORD:
         case COMMAND_UNMARK_WORD:
         case COMMAND_DELETE_WORD:
-            if (isEmptyParam(split)) {
+            if (isEmptyParam(param)) {
                 throw new NumberFormatException();
             }
-            return new ModifyCommand(command, split[1], size);
+            if (isSelection(param)) {
+                return new BulkModifyCommand(command, parseSelection(param, size));
+            }
+            if (param.startsWith(ID_PREFIX)) {
+                return new ModifyCommand(command, parseId(param));
+            }
+            return new ModifyCommand(command, param, size);
         case COMMAND_TODO_WORD:
         case COMMAND_DEADLINE_WORD:
         case COMMAND_EVENT_WORD:
-            if (isEmptyParam(split)) {
+            if (isEmptyParam(param)) {
                 throw new EmptyTaskDescException();
             }
-            return new AddCommand(command, split[1]);
+            return new AddCommand(command, param);
+        case COMMAND_UNDO_WORD:
+        case COMMAND_REDO_WORD:
+            if (!isEmptyParam(param)) {
+                throw new IllegalCommandException();
+            }
+            return new UndoCommand(command);
+        case COMMAND_STATS_WORD:
+            return new StatsCommand();
+        case COMMAND_USE_WORD:
+            if (isEmptyParam(param)) {
+                return new UseCommand(null);
+            }
+            if (!TaskLists.isValidName(param)) {
+                throw new InvalidListName();
+            }
+            return new UseCommand(param);
+        case COMMAND_EXPORT_WORD:
+            if (isEmptyParam(param)) {
+                return new ExportCommand(ExportCommand.DEFAULT_EXPORT_PATH);
+            }
+            return new ExportCommand(param);
         default:
             throw new IllegalCommandException();
         }
@@ -123,11 +254,210 @@ public class Parser {
     /**
      * Checks if the user's input parameter is empty.
      *
-     * @param split Parsed user input split into command and parameter.
+     * @param param Rest of the user input after the command word, or null if there is none.
      * @return {@code true} if the input parameter is empty, {@code false} otherwise.
      */
-    private static Boolean isEmptyParam(String[] split) {
-        return (split.length != 2);
+    private static Boolean isEmptyParam(String param) {
+        return (param == null);
+    }
+
+    /**
+     * Reads the ID of a task given by the user in place of its index.
+     *
+     * @param param User input of the ID, starting with {@code #}.
+     * @return ID of the task.
+     * @throws NumberFormatException If the ID is not a positive integer.
+     */
+    private static long parseId(String param) throws NumberFormatException {
+        long id = Long.parseLong(param.substring(ID_PREFIX.length()));
+        if (id <= 0) {
+            throw new NumberFormatException();
+        }
+        return id;
+    }
+
+    /**
+     * Reads the filter, page, page size, order and flags given to the list command, which may be in any order.
+     * A page size without a page shows the first page.
+     *
+     * @param param User input after the list command word.
+     * @return List Command showing the Tasks asked for.
+     * @throws InvalidListOption If a word is not a filter, flag or positive integer, or is given twice.
+     */
+    private static ListCommand parseList(String param) throws InvalidListOption {
+        ListFilter filter = null;
+        ListOrder order = null;
+        int page = 0;
+        int pageSize = 0;
+        boolean isIdShown = false;
+        int end = param.length();
+        int start = Tokenizer.skipWhitespace(param, 0, end);
+        while (start < end) {
+            int wordEnd = Tokenizer.indexOfWhitespace(param, start, end);
+            wordEnd = (wordEnd < 0) ? end : wordEnd;
+            String word = param.substring(start, wordEnd);
+            start = Tokenizer.skipWhitespace(param, wordEnd, end);
+            if (word.equals(LIST_IDS_FLAG) && !isIdShown) {
+                isIdShown = true;
+            } else if (word.equals(LIST_PAGE_SIZE_FLAG) && pageSize == 0 && start < end) {
+                wordEnd = Tokenizer.indexOfWhitespace(param, start, end);
+                wordEnd = (wordEnd < 0) ? end : wordEnd;
+                pageSize = parsePositive(param.substring(start, wordEnd));
+                start = Tokenizer.skipWhitespace(param, wordEnd, end);
+            } else if (word.equals(LIST_SORT_FLAG) && order == null && start < end) {
+                wordEnd = Tokenizer.indexOfWhitespace(param, start, end);
+                wordEnd = (wordEnd < 0) ? end : wordEnd;
+                order = getListOrder(param.substring(start, wordEnd));
+                start = Tokenizer.skipWhitespace(param, wordEnd, end);
+            } else if (getListFilter(word) != null && filter == null) {
+                filter = getListFilter(word);
+            } else if (page == 0) {
+                page = parsePositive(word);
+            } else {
+                throw new InvalidListOption();
+            }
+        }
+        if (pageSize > 0 && page == 0) {
+            page = 1;
+        }
+        return new ListCommand((filter == null) ? ListFilter.ALL : filter, (order == null) ? ListOrder.INDEX : order,
+                page, (pageSize == 0) ? ListCommand.DEFAULT_PAGE_SIZE : pageSize, isIdShown);
+    }
+
+    private static ListOrder getListOrder(String word) throws InvalidListOption {
+        for (ListOrder order : ListOrder.values()) {
+            if (order != ListOrder.INDEX && order.getName().equals(word)) {
+                return order;
+            }
+        }
+        throw new InvalidListOption();
+    }
+
+    private static ListFilter getListFilter(String word) {
+        for (ListFilter filter : ListFilter.values()) {
+            if (filter.getName().equals(word)) {
+                return filter;
+            }
+        }
+        return null;
+    }
+
+    private static int parsePositive(String word) throws InvalidListOption {
+        try {
+            int value = Integer.parseInt(word);
+            if (value <= 0) {
+                throw new InvalidListOption();
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new InvalidListOption();
+        }
+    }
+
+    /**
+     * Checks if the user's input parameter selects many tasks instead of a single index,
+     * by starting with a range, {@code all}, {@code done}, {@code undone}, or {@code find:}.
+     *
+     * @param param Rest of the user input after the command word.
+     * @return {@code true} if the input parameter is a selection, {@code false} otherwise.
+     */
+    private static boolean isSelection(String param) {
+        int scopeEnd = Tokenizer.indexOfWhitespace(param, 0, param.length());
+        String scope = param.substring(0, (scopeEnd < 0) ? param.length() : scopeEnd);
+        return scope.equals(SELECT_ALL_WORD) || scope.equals(SELECT_DONE_WORD) || scope.equals(SELECT_UNDONE_WORD)
+                || scope.startsWith(SELECT_KEYWORD_PREFIX) || isRange(scope);
+    }
+
+    private static boolean isRange(String scope) {
+        int separator = scope.indexOf(SELECT_RANGE_SEPARATOR);
+        if (separator <= 0 || separator == scope.length() - 1) {
+            return false;
+        }
+        for (int i = 0; i < scope.length(); i++) {
+            char c = scope.charAt(i);
+            if (i != separator && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Separates a selection of many tasks into its range of indexes, status, and keyword.
+     * The selection is a range {@code START-END}, {@code all}, {@code done}, or {@code undone},
+     * optionally followed by {@code find:KEYWORD}, which may also be given on its own to search all tasks.
+     *
+     * @param param User input selecting the tasks.
+     * @param size Number of tasks saved in TaskList.
+     * @return Selection of tasks described by the user input.
+     * @throws InvalidSelection If the selection is not in the above format, or its keyword is empty.
+     * @throws NumberFormatException If the range is outside the current range of tasks, or in the wrong order.
+     */
+    public static TaskSelection parseSelection(String param, int size)
+            throws InvalidSelection, NumberFormatException {
+        int end = Tokenizer.trimEnd(param, 0, param.length());
+        int start = Tokenizer.trimStart(param, 0, end);
+        int scopeEnd = Tokenizer.indexOfWhitespace(param, start, end);
+        if (scopeEnd < 0) {
+            scopeEnd = end;
+        }
+        String scope = param.substring(start, scopeEnd);
+        int keywordStart = Tokenizer.skipWhitespace(param, scopeEnd, end);
+        if (scope.startsWith(SELECT_KEYWORD_PREFIX)) {
+            scope = SELECT_ALL_WORD;
+            keywordStart = start;
+        }
+        String keyword = null;
+        if (keywordStart < end) {
+            if (!param.startsWith(SELECT_KEYWORD_PREFIX, keywordStart)) {
+                throw new InvalidSelection();
+            }
+            keyword = param.substring(keywordStart + SELECT_KEYWORD_PREFIX.length(), end);
+            if (keyword.isEmpty()) {
+                throw new InvalidSelection();
+            }
+        }
+        switch (scope) {
+        case SELECT_ALL_WORD:
+            return new TaskSelection(0, size - 1, null, keyword);
+        case SELECT_DONE_WORD:
+            return new TaskSelection(0, size - 1, true, keyword);
+        case SELECT_UNDONE_WORD:
+            return new TaskSelection(0, size - 1, false, keyword);
+        default:
+            if (!isRange(scope)) {
+                throw new InvalidSelection();
+            }
+            int separator = scope.indexOf(SELECT_RANGE_SEPARATOR);
+            int first = Integer.parseInt(scope.substring(0, separator)) - 1;
+            int last = Integer.parseInt(scope.substring(separator + 1)) - 1;
+            if (first < 0 || last >= size || first > last) {
+                throw new NumberFormatException();
+            }
+            return new TaskSelection(first, last, null, keyword);
+        }
+    }
+
+    /**
+     * Checks if the user's input parameter starts with the flag to search every list.
+     *
+     * @param param Rest of the user input after the command word.
+     * @return {@code true} if the flag is given on its own or followed by whitespace, {@code false} otherwise.
+     */
+    private static boolean isAllLists(String param) {
+        return param.startsWith(ALL_LISTS_FLAG)
+                && (param.length() == ALL_LISTS_FLAG.length()
+                || Tokenizer.isWhitespace(param.charAt(ALL_LISTS_FLAG.length())));
+    }
+
+    /**
+     * Removes the flag to search every list, and the whitespace after it, from the user's input parameter.
+     *
+     * @param param Rest of the user input after the command word, starting with the flag.
+     * @return Rest of the user input after the flag, which may be empty.
+     */
+    private static String stripAllListsFlag(String param) {
+        return param.substring(Tokenizer.skipWhitespace(param, ALL_LISTS_FLAG.length(), param.length()));
     }
 
     /**
@@ -153,11 +483,14 @@ public class Parser {
      * @throws InvalidDeadline If the user did not input the due date in the right format.
      */
     public static String[] parseDeadline(String param) throws InvalidDeadline {
-        String[] split = param.trim().split("\\s/by\\s", 2);
-        if (split.length != 2) {
+        int end = Tokenizer.trimEnd(param, 0, param.length());
+        int start = Tokenizer.trimStart(param, 0, end);
+        int by = Tokenizer.indexOfDelimiter(param, start, end, BY_WORD);
+        if (by < 0) {
             throw new InvalidDeadline();
         }
-        return split;
+        int byEnd = by + Tokenizer.getDelimiterLength(param, by, end, BY_WORD);
+        return new String[] {param.substring(start, by), param.substring(byEnd, end)};
     }
 
     /**
@@ -168,11 +501,37 @@ public class Parser {
      * @throws InvalidEvent If the user did not input the start or end date in the right format.
      */
     public static String[] parseEvent(String param) throws InvalidEvent {
-        String[] split = param.trim().split("\\s/from\\s|\\s/to\\s", 3);
-        if (split.length != 3) {
+        int end = Tokenizer.trimEnd(param, 0, param.length());
+        int start = Tokenizer.trimStart(param, 0, end);
+        int[] offsets = findEventDelimiters(param, start, end);
+        if (offsets == null) {
             throw new InvalidEvent();
         }
-        return split;
+        return new String[] {param.substring(start, offsets[0]), param.substring(offsets[1], offsets[2]),
+            param.substring(offsets[3], end)};
+    }
+
+    /**
+     * Finds the first two {@code /from} or {@code /to} delimiters, in either order, the same as
+     * splitting on them would.
+     *
+     * @param text Text containing an Event's description and dates.
+     * @param start Start of the trimmed text.
+     * @param end End of the trimmed text.
+     * @return Start and end offsets of the first delimiter, then of the second, or null if there are not two.
+     */
+    public static int[] findEventDelimiters(CharSequence text, int start, int end) {
+        int first = Tokenizer.indexOfDelimiter(text, start, end, EVENT_WORDS);
+        if (first < 0) {
+            return null;
+        }
+        int firstEnd = first + Tokenizer.getDelimiterLength(text, first, end, EVENT_WORDS);
+        int second = Tokenizer.indexOfDelimiter(text, firstEnd, end, EVENT_WORDS);
+        if (second < 0) {
+            return null;
+        }
+        int secondEnd = second + Tokenizer.getDelimiterLength(text, second, end, EVENT_WORDS);
+        return new int[] {first, firstEnd, second, secondEnd};
     }
 
 }
@@ -0,0 +1,186 @@
+package duke;
+
+import duke.task.Reminder;
+import duke.task.ReminderQueue;
+import duke.task.TaskList;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * ReminderScheduler class that raises reminders of upcoming Deadlines and Events on a background thread.
+ * Each watched TaskList keeps its reminders in a ReminderQueue as it changes, and the thread sleeps until the
+ * earliest reminder of any of them is due, so the TaskLists themselves are never scanned.
+ * Reminders are printed on the Ui of every session that subscribed, which holds them back while a command runs.
+ */
+public class ReminderScheduler {
+
+    // Longest time the thread sleeps for, so that reminders are still raised on time if the clock is changed
+    private static final long MAX_SLEEP_MILLIS = 60000;
+    private static final long SECONDS_PER_MINUTE = 60;
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final long SECONDS_PER_DAY = 86400;
+
+    // Time before the due or start date that each reminder is raised, in seconds, longest first
+    private final long[] leadSeconds;
+    // Ui of each session the reminders are printed on, such as the CLI or each client in server mode
+    private final List<Ui> uis = new CopyOnWriteArrayList<>();
+    // Queue of each watched list, by name
+    private final Map<String, ReminderQueue> queues = new LinkedHashMap<>();
+    // Whether a queue was watched, or got an earlier reminder, since the thread last checked
+    private boolean isChanged;
+
+    /**
+     * Initialises the scheduler, which does not raise any reminders until it is started.
+     *
+     * @param leadSeconds Time before the due or start date that each reminder is raised, in seconds.
+     */
+    public ReminderScheduler(long[] leadSeconds) {
+        long[] sorted = Arrays.stream(leadSeconds).distinct().sorted().toArray();
+        this.leadSeconds = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            this.leadSeconds[i] = sorted[sorted.length - 1 - i];
+        }
+    }
+
+    /**
+     * Reads lead times separated by commas, each a number followed by {@code s}, {@code m}, {@code h} or {@code d}
+     * for seconds, minutes, hours or days, such as {@code 1d,1h,15m}.
+     *
+     * @param text Lead times to read.
+     * @return Each lead time in seconds.
+     * @throws IllegalArgumentException If any lead time is not in the right format, or is negative.
+     */
+    public static long[] parseLeadTimes(String text) throws IllegalArgumentException {
+        String[] parts = text.split(",");
+        long[] leadSeconds = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (part.length() < 2) {
+                throw new IllegalArgumentException("Invalid lead time: " + part);
+            }
+            long amount = Long.parseLong(part.substring(0, part.length() - 1));
+            switch (part.charAt(part.length() - 1)) {
+            case 's':
+                leadSeconds[i] = amount;
+                break;
+            case 'm':
+                leadSeconds[i] = amount * SECONDS_PER_MINUTE;
+                break;
+            case 'h':
+                leadSeconds[i] = amount * SECONDS_PER_HOUR;
+                break;
+            case 'd':
+                leadSeconds[i] = amount * SECONDS_PER_DAY;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid lead time: " + part);
+            }
+            if (amount < 0) {
+                throw new IllegalArgumentException("Invalid lead time: " + part);
+            }
+        }
+        return leadSeconds;
+    }
+
+    /**
+     * Starts raising reminders of every Task in the given TaskList, under the name of its list.
+     *
+     * @param name Name of the list.
+     * @param tasks TaskList of the list, which keeps its reminders up to date from then on.
+     */
+    public void watch(String name, TaskList tasks) {
+        ReminderQueue queue = new ReminderQueue(leadSeconds, this::wake);
+        tasks.enableReminders(queue);
+        synchronized (this) {
+            queues.put(name, queue);
+            isChanged = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Stops raising reminders of the list with the given name, such as once it is unloaded.
+     *
+     * @param name Name of the list.
+     */
+    public synchronized void unwatch(String name) {
+        queues.remove(name);
+    }
+
+    /**
+     * Starts printing reminders on the Ui of a session, in between the commands it runs.
+     * Reminders raised while no session is subscribed are dropped.
+     *
+     * @param ui Ui of the session.
+     */
+    public void subscribe(Ui ui) {
+        uis.add(ui);
+    }
+
+    /**
+     * Stops printing reminders on the Ui of a session, such as once its client disconnects.
+     *
+     * @param ui Ui of the session.
+     */
+    public void unsubscribe(Ui ui) {
+        uis.remove(ui);
+    }
+
+    /**
+     * Starts the background thread that raises reminders.
+     */
+    public void start() {
+        Thread thread = new Thread(this::raiseLoop, "duke-reminders");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private synchronized void wake() {
+        isChanged = true;
+        notifyAll();
+    }
+
+    /**
+     * Raises every reminder that is due, then sleeps until the next one is, or until a queue changes.
+     * No lock of the scheduler is held while a queue is used, as each queue calls {@link #wake()} itself.
+     */
+    private void raiseLoop() {
+        while (true) {
+            List<Map.Entry<String, ReminderQueue>> watched;
+            synchronized (this) {
+                watched = new ArrayList<>(queues.entrySet());
+                isChanged = false;
+            }
+            long now = Instant.now().getEpochSecond();
+            long next = Long.MAX_VALUE;
+            for (Map.Entry<String, ReminderQueue> entry : watched) {
+                for (Reminder reminder : entry.getValue().pollDue(now)) {
+                    String name = entry.getKey().equals(TaskLists.MAIN_NAME) ? null : entry.getKey();
+                    for (Ui ui : uis) {
+                        ui.printReminder(reminder, name, now);
+                    }
+                }
+                next = Math.min(next, entry.getValue().getNextSeconds());
+            }
+            long sleepMillis = (next == Long.MAX_VALUE)
+                    ? MAX_SLEEP_MILLIS
+                    : Math.min(MAX_SLEEP_MILLIS, (next - Instant.now().getEpochSecond()) * 1000);
+            synchronized (this) {
+                try {
+                    if (!isChanged && sleepMillis > 0) {
+                        wait(sleepMillis);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+}
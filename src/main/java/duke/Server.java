@@ -0,0 +1,159 @@
+package duke;
+
+import duke.command.Command;
+import duke.command.ExitCommand;
+import duke.task.TaskList;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.UnexpectedException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server class that runs commands from many clients at once against the same TaskList.
+ * Each connection is a session with its own Ui, run on its own thread.
+ * Commands that only read the TaskList run without locking against the latest snapshot of it,
+ * while commands that change it run one at a time against the TaskList itself, publishing a new snapshot each time.
+ */
+public class Server {
+
+    private final TaskList tasks;
+    private final Storage storage;
+    // Prints reminders on the Ui of each session, null if reminders are off
+    private final ReminderScheduler reminders;
+    // Held by the one command changing the TaskList at a time
+    private final Lock writeLock = new ReentrantLock();
+    // Runs each session, with a thread for every open connection
+    private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "duke-session");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Initialises the server with the TaskList shared by every session, and starts keeping snapshots of it.
+     *
+     * @param tasks TaskList containing all currently saved tasks.
+     * @param storage Updates the local save file if the TaskList is modified.
+     * @param reminders Scheduler that raises reminders to every session, or null if reminders are off.
+     */
+    public Server(TaskList tasks, Storage storage, ReminderScheduler reminders) {
+        this.tasks = tasks;
+        this.storage = storage;
+        this.reminders = reminders;
+        tasks.enableSnapshots();
+    }
+
+    /**
+     * Accepts connections on the loopback address until the process is stopped,
+     * and saves any outstanding changes when it is.
+     *
+     * @param port Port to listen on, or 0 for any free port.
+     * @param ui Prints the port being listened on.
+     * @throws IOException If the port cannot be listened on, or a connection cannot be accepted.
+     */
+    public void serve(int port, Ui ui) throws IOException {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+        try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            ui.printServerStarted(serverSocket.getLocalPort());
+            ui.flush();
+            while (true) {
+                Socket socket = serverSocket.accept();
+                sessions.execute(() -> runSession(socket));
+            }
+        }
+    }
+
+    /**
+     * Reads, executes, and prints outputs of commands from one client until it disconnects or exits.
+     * Exiting only ends the session, and leaves the save file open for the other sessions.
+     * Reminders are printed to the client in between its commands for as long as it is connected.
+     */
+    private void runSession(Socket socket) {
+        Ui ui = null;
+        try (socket) {
+            ui = new Ui(socket.getInputStream(), socket.getOutputStream());
+            ui.printWelcomeMessage();
+            if (reminders != null) {
+                reminders.subscribe(ui);
+            }
+            boolean isExit = false;
+            while (!isExit && ui.hasNextCommand()) {
+                String fullCommand = ui.readCommand();
+                ui.showLine();
+                isExit = execute(fullCommand, ui);
+                ui.showLine();
+            }
+            ui.flush();
+        } catch (IOException e) {
+            // the client disconnected, so there is no one left to report to
+        } finally {
+            if (reminders != null && ui != null) {
+                reminders.unsubscribe(ui);
+            }
+        }
+    }
+
+    /**
+     * Parses and executes one command, against the latest snapshot if it only reads the TaskList,
+     * or holding the write lock otherwise.
+     * A command that changes the TaskList is parsed again once the write lock is held,
+     * so that any index it refers to is checked against the TaskList it runs on.
+     *
+     * @param fullCommand User input.
+     * @param ui Prints output messages to the client.
+     * @return {@code true} if the client asked to exit, {@code false} otherwise.
+     */
+    public boolean execute(String fullCommand, Ui ui) {
+        TaskList snapshot = tasks.getSnapshot();
+        Command c = Parser.getCommand(fullCommand, ui, snapshot.getSize());
+        if (c != null && c.isReadOnly()) {
+            try {
+                c.executeTimed(snapshot, ui, storage);
+            } catch (UnexpectedException e) {
+                ui.printUnexpectedException(e);
+            }
+            return false;
+        }
+        if (c == null) {
+            return false;
+        }
+        if (c instanceof ExitCommand) {
+            ui.printExitMessage();
+            return true;
+        }
+        writeLock.lock();
+        try {
+            c = Parser.getCommand(fullCommand, ui, tasks.getSize());
+            if (c != null) {
+                c.executeTimed(tasks, ui, storage);
+            }
+        } catch (UnexpectedException e) {
+            ui.printUnexpectedException(e);
+        } finally {
+            writeLock.unlock();
+        }
+        return false;
+    }
+
+    /**
+     * Stops accepting commands and closes the save file, once no command is running.
+     */
+    private void close() {
+        writeLock.lock();
+        try {
+            sessions.shutdownNow();
+            storage.close();
+        } catch (IOException e) {
+            // the process is already stopping, so there is no one left to report to
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+}
@@ -1,47 +1,68 @@
 package duke;
 
-import duke.exception.DateOrderException;
-import duke.exception.InvalidDeadline;
-import duke.exception.InvalidEvent;
 import duke.exception.InvalidSaveFile;
-import duke.task.Deadline;
-import duke.task.Event;
+import duke.metrics.Metrics;
+import duke.storage.BinarySnapshot;
+import duke.storage.FsyncPolicy;
+import duke.storage.GroupCommitWriter;
+import duke.storage.Journal;
+import duke.storage.LoadMode;
+import duke.storage.ParallelTextReader;
+import duke.storage.SaveFile;
+import duke.storage.TextFormat;
+import duke.storage.TextSaveIndex;
+import duke.storage.UndoLog;
+import duke.storage.UndoStep;
+import duke.task.LazyTaskList;
 import duke.task.Task;
 import duke.task.TaskList;
-import duke.task.ToDo;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Storage class that initialises the task list and updates the save file.
  */
 public class Storage {
-    /*
-    Each task is saved as a line in the save file in this format:
-        [type] | [status] | [description]
-    Followed by:
-        /by [date]                  for Deadlines or
-        /from [date] /to [date]     for Events
+    // Size in bytes the journal can grow to before it is folded into the save file
+    private static final long COMPACT_THRESHOLD = Long.getLong("duke.journal.threshold", 1 << 20);
 
-    eg. E | X | holiday /from 2023-02-25T00:00:00 /to 2023-03-04T23:59:00
-    */
-
-    // ints indicating position of terms in each line of the save file
-    private static final int TYPE_POS = 0;
-    private static final int STATUS_POS = 4;
-    private static final int PARAM_POS = 8;
-    // chars representing type of Tasks within the save file
-    private static final char TXT_TODO_WORD = 'T';
-    private static final char TXT_DEADLINE_WORD = 'D';
-    private static final char TXT_EVENT_WORD = 'E';
-
-    // Location of save file
-    protected static String filePath;
+    // Location of save file, which differs for each list
+    private final String filePath;
+    // Write-ahead journal of changes, null if every change rewrites the save file
+    private final Journal journal;
+    // Background writers that batch changes, null if changes are written by the calling thread
+    private final GroupCommitWriter<String> journalWriter;
+    private final GroupCommitWriter<SaveFile.Snapshot> saveWriter;
+    private final SaveFile saveFile;
+    // Whether the save file is written in the binary format instead of as text
+    private final boolean isBinary;
+    private final LoadMode loadMode;
+    // Whether the save file needs to be rewritten after loading, to drop invalid lines or a stale journal
+    private boolean isRewriteNeeded = true;
+    private final ExecutorService compactor;
+    private CompletableFuture<Void> compaction;
+    // Journal left behind by an earlier run in journal mode, replayed once and then discarded
+    private Journal staleJournal;
+    // Whether changes are held back until saveDeferred is called, as in batch mode
+    private boolean isDeferred;
+    // TaskList with changes that have been held back, null if there are none
+    private TaskList deferredTasks;
+    // Steps of the latest commands, so that they can be undone, null if undo is turned off
+    private UndoLog undoLog;
+    // ID to give the next Task added, as recorded by the save file and journal when loaded, 0 if neither did
+    private long nextId;
+    // List loaded lazily from the save file, which is copied off the file before it is first replaced,
+    // null if the save file is no longer read from
+    private LazyTaskList mappedTasks;
 
     /**
      * Initialise Storage class, set filePath.
@@ -49,76 +70,510 @@ public class Storage {
      * @param filePath Location of the local save file.
      */
     public Storage(String filePath) {
-        Storage.filePath = filePath;
+        this(filePath, false, false, LoadMode.EAGER, null);
+    }
+
+    /**
+     * Initialise Storage class, set filePath.
+     * In journal mode, each change is appended to a journal instead of rewriting the save file,
+     * and the journal is folded into the save file in the background once it grows too large.
+     *
+     * If an fsync policy is given, changes are batched and written on a background thread instead,
+     * so that commands do not wait on the hard disk unless the policy is {@code ALWAYS}.
+     *
+     * The save file is written as text, or in the binary format if {@code isBinary} is set.
+     * Either format can be loaded, whichever format is being written.
+     * In lazy load mode, Tasks are only built from the save file as they are accessed.
+     *
+     * @param filePath Location of the local save file.
+     * @param isJournaled Whether changes should be saved to a journal.
+     * @param isBinary Whether the save file should be written in the binary format.
+     * @param loadMode How Tasks are built from the save file.
+     * @param fsyncPolicy How often batched changes are synced, or null to write changes immediately.
+     */
+    public Storage(String filePath, boolean isJournaled, boolean isBinary, LoadMode loadMode,
+            FsyncPolicy fsyncPolicy) {
+        this.filePath = filePath;
+        this.isBinary = isBinary;
+        this.loadMode = loadMode;
+        this.saveFile = new SaveFile(filePath);
+        if (isJournaled) {
+            this.journal = new Journal(filePath);
+            this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "duke-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.journal = null;
+            this.compactor = null;
+        }
+        if (fsyncPolicy != null && isJournaled) {
+            this.journalWriter = new GroupCommitWriter<>(journal, fsyncPolicy, "duke-journal-writer");
+        } else {
+            this.journalWriter = null;
+        }
+        if (fsyncPolicy != null && !isJournaled) {
+            this.saveWriter = new GroupCommitWriter<>(saveFile, fsyncPolicy, "duke-save-writer");
+        } else {
+            this.saveWriter = null;
+        }
     }
 
     /**
      * Overwrites the existing save file based on the current TaskList.
+     * In journal mode, the journal is folded into the new save file.
+     * With a background writer, the new save file is only written once per batch.
+     * The time taken is recorded as saving for the current command.
      *
      * @param tasks Contains all stored tasks.
      * @throws IOException If something goes wrong during the overwriting process.
      */
     public void update(TaskList tasks) throws IOException {
-        FileWriter overwrite = new FileWriter(filePath);
-        for (Task task : tasks.allTasks) {
-            String desc = task.getDescription();
-            String type = task.getType();
-            String stat = task.getStatus();
-            switch (type) {
-            case "todo":
-                overwrite.write("T | " + stat + " | " + desc + "\n");
-                break;
-            case "deadline":
-                Deadline tempDeadline = (Deadline) task;
-                String by = tempDeadline.getBy(Task.storePattern);
-                overwrite.write("D | " + stat + " | " + desc + " /by " + by + "\n");
-                break;
-            case "event":
-                Event tempEvent = (Event) task;
-                String from = tempEvent.getFrom(Task.storePattern);
-                String to = tempEvent.getTo(Task.storePattern);
-                overwrite.write("E | " + stat + " | " + desc + " /from " + from + " /to " + to + "\n");
-                break;
+        long startNanos = System.nanoTime();
+        try {
+            releaseSaveFile();
+            if (journal != null) {
+                if (journalWriter != null) {
+                    journalWriter.flush();
+                }
+                waitForCompaction();
+                journal.rotate();
+                journal.compact(toSnapshot(tasks.allTasks, null, tasks.getNextId()));
+                return;
             }
+            if (saveWriter != null) {
+                saveWriter.append(copySnapshot(tasks));
+                saveWriter.run(this::discardStaleJournal);
+                return;
+            }
+            saveFile.replace(toSnapshot(tasks.allTasks, null, tasks.getNextId()), false);
+            discardStaleJournal();
+        } finally {
+            Metrics.record(Metrics.Stage.SAVE, startNanos);
+        }
+    }
+
+    /**
+     * Writes the current TaskList to the given location in the text save file format,
+     * regardless of the format used for the save file.
+     *
+     * @param tasks Contains all stored tasks.
+     * @param exportPath Location of the exported file.
+     * @throws IOException If something goes wrong while writing.
+     */
+    public void export(TaskList tasks, String exportPath) throws IOException {
+        long exportNextId = tasks.getNextId();
+        new SaveFile(exportPath).replace(out -> TextFormat.write(out, tasks.allTasks, null, exportNextId), false);
+    }
+
+    /**
+     * Saves a Task that has just been added to the end of the TaskList.
+     *
+     * @param tasks Contains all stored tasks.
+     * @param task Task that has just been added.
+     * @throws IOException If something goes wrong while saving.
+     */
+    public void saveAdded(TaskList tasks, Task task) throws IOException {
+        if (defer(tasks)) {
+            return;
+        }
+        if (journal == null) {
+            update(tasks);
+            return;
+        }
+        appendRecord(Journal.ADD_RECORD + " " + TextFormat.toLine(task));
+        compactIfNeeded(tasks);
+    }
+
+    /**
+     * Saves the new status of the Task at the given index.
+     *
+     * @param tasks Contains all stored tasks.
+     * @param idx Index of the Task that has just been marked or unmarked.
+     * @throws IOException If something goes wrong while saving.
+     */
+    public void saveMarked(TaskList tasks, int idx) throws IOException {
+        if (defer(tasks)) {
+            return;
+        }
+        if (journal == null) {
+            update(tasks);
+            return;
+        }
+        char type = tasks.allTasks.get(idx).isDone() ? Journal.MARK_RECORD : Journal.UNMARK_RECORD;
+        appendRecord(type + " " + idx);
+        compactIfNeeded(tasks);
+    }
+
+    /**
+     * Saves the deletion of the Task that was at the given index.
+     *
+     * @param tasks Contains all stored tasks, after the deletion.
+     * @param idx Index the deleted Task used to be at.
+     * @throws IOException If something goes wrong while saving.
+     */
+    public void saveDeleted(TaskList tasks, int idx) throws IOException {
+        if (defer(tasks)) {
+            return;
+        }
+        if (journal == null) {
+            update(tasks);
+            return;
+        }
+        appendRecord(Journal.DELETE_RECORD + " " + idx);
+        compactIfNeeded(tasks);
+    }
+
+    /**
+     * Saves a Task that has just been put back at the given index, such as when its delete is undone.
+     *
+     * @param tasks Contains all stored tasks, after the Task was put back.
+     * @param idx Index the Task was put back at.
+     * @throws IOException If something goes wrong while saving.
+     */
+    public void saveInserted(TaskList tasks, int idx) throws IOException {
+        if (defer(tasks)) {
+            return;
+        }
+        if (journal == null) {
+            update(tasks);
+            return;
+        }
+        appendRecord(Journal.INSERT_RECORD + " " + idx + " " + TextFormat.toLine(tasks.allTasks.get(idx)));
+        compactIfNeeded(tasks);
+    }
+
+    /**
+     * Saves changes to many Tasks at once, such as from a bulk mark or delete, by overwriting the save file once
+     * instead of saving each change on its own.
+     *
+     * @param tasks Contains all stored tasks, after the changes.
+     * @throws IOException If something goes wrong while saving.
+     */
+    public void saveBulk(TaskList tasks) throws IOException {
+        if (defer(tasks)) {
+            return;
+        }
+        update(tasks);
+    }
+
+    /**
+     * Starts keeping the steps of the latest commands in an undo log alongside the save file,
+     * along with any steps left in it by an earlier run.
+     *
+     * @param limit Maximum number of commands that can be undone.
+     * @throws IOException If the undo log cannot be read.
+     */
+    public void enableUndo(int limit) throws IOException {
+        undoLog = new UndoLog(filePath, limit);
+        undoLog.load();
+    }
+
+    /**
+     * Get the undo log of the TaskList.
+     *
+     * @return Undo log, or null if undo is turned off.
+     */
+    public UndoLog getUndoLog() {
+        return undoLog;
+    }
+
+    /**
+     * Records the step of a command that has just run and been saved, so that it can be undone.
+     *
+     * @param step Step of the command.
+     * @throws IOException If the undo log cannot be written to.
+     */
+    public void recordUndo(UndoStep step) throws IOException {
+        if (undoLog != null) {
+            undoLog.record(step);
         }
-        overwrite.close();
     }
 
     /**
-     * Loads data from the save file into a new ArrayList of Tasks.
-     * If save file is not found, creates a new save file and returns an empty ArrayList.
+     * Sets whether changes are held back instead of being saved as each command runs.
+     * Held back changes are saved all at once by {@link #saveDeferred()}, or when Storage is closed.
+     *
+     * @param isDeferred Whether changes should be held back.
+     */
+    public void setDeferred(boolean isDeferred) {
+        this.isDeferred = isDeferred;
+    }
+
+    /**
+     * Saves any changes that have been held back, by overwriting the save file once.
+     *
+     * @throws IOException If something goes wrong while saving.
+     */
+    public void saveDeferred() throws IOException {
+        if (deferredTasks == null) {
+            return;
+        }
+        TaskList tasks = deferredTasks;
+        deferredTasks = null;
+        update(tasks);
+    }
+
+    /**
+     * Saves any held back changes, flushes any batched changes, waits for any compaction in progress,
+     * then closes the journal and the undo log.
+     *
+     * @throws IOException If the changes cannot be written, or the journal cannot be closed.
+     */
+    public void close() throws IOException {
+        saveDeferred();
+        if (undoLog != null) {
+            undoLog.close();
+        }
+        if (journalWriter != null) {
+            journalWriter.close();
+        }
+        if (saveWriter != null) {
+            saveWriter.close();
+        }
+        if (journal == null) {
+            return;
+        }
+        waitForCompaction();
+        journal.close();
+        compactor.shutdown();
+    }
+
+    /**
+     * Checks if the save file should be rewritten right after loading.
+     * A lazily loaded save file is left as it is, unless it had invalid lines or was followed by a journal
+     * that is not being kept, since rewriting it would build every Task.
+     *
+     * @return {@code true} if the save file should be rewritten, {@code false} otherwise.
+     */
+    public boolean isRewriteNeeded() {
+        return isRewriteNeeded;
+    }
+
+    private boolean defer(TaskList tasks) {
+        if (isDeferred) {
+            deferredTasks = tasks;
+        }
+        return isDeferred;
+    }
+
+    private void discardStaleJournal() throws IOException {
+        if (staleJournal != null) {
+            staleJournal.discard();
+            staleJournal = null;
+        }
+    }
+
+    private void appendRecord(String record) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            if (journalWriter != null) {
+                journalWriter.append(record);
+            } else {
+                journal.append(record);
+            }
+        } finally {
+            Metrics.record(Metrics.Stage.SAVE, startNanos);
+        }
+    }
+
+    /**
+     * Starts folding the journal into the save file in the background once it grows past the threshold.
+     * Tasks are copied along with their status, so that later commands do not change the snapshot.
+     * With a background writer, the journal is rotated by that writer after the records before it.
+     *
+     * @param tasks Contains all stored tasks.
+     * @throws IOException If the journal cannot be rotated, or the previous compaction failed.
+     */
+    private void compactIfNeeded(TaskList tasks) throws IOException {
+        boolean isCompacting = compaction != null && !compaction.isDone();
+        if (journal.getSize() < COMPACT_THRESHOLD || isCompacting) {
+            return;
+        }
+        waitForCompaction();
+        releaseSaveFile();
+        SaveFile.Snapshot snapshot = copySnapshot(tasks);
+        CompletableFuture<Void> newCompaction = new CompletableFuture<>();
+        compaction = newCompaction;
+        if (journalWriter != null) {
+            journalWriter.run(() -> rotateAndCompact(snapshot, newCompaction));
+        } else {
+            rotateAndCompact(snapshot, newCompaction);
+        }
+    }
+
+    private void rotateAndCompact(SaveFile.Snapshot snapshot, CompletableFuture<Void> result) throws IOException {
+        journal.rotate();
+        compactor.execute(() -> {
+            try {
+                journal.compact(snapshot);
+                result.complete(null);
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Copies the rest of a lazily loaded save file to the heap, so that it can be replaced,
+     * as a file that is memory-mapped cannot be replaced on some systems, such as Windows.
+     */
+    private void releaseSaveFile() {
+        if (mappedTasks != null) {
+            mappedTasks.copySourceToHeap();
+            mappedTasks = null;
+        }
+    }
+
+    private void waitForCompaction() throws IOException {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            compaction = null;
+        }
+    }
+
+    /**
+     * Copies the Tasks along with their status, so that later commands do not change the snapshot
+     * while it is being written on another thread.
+     *
+     * @param tasks Contains all stored tasks.
+     * @return Snapshot of the TaskList as it is now.
+     */
+    private SaveFile.Snapshot copySnapshot(TaskList tasks) {
+        ArrayList<Task> snapshotTasks = new ArrayList<>(tasks.allTasks);
+        boolean[] doneFlags = new boolean[snapshotTasks.size()];
+        for (int i = 0; i < doneFlags.length; i++) {
+            doneFlags[i] = snapshotTasks.get(i).isDone();
+        }
+        return toSnapshot(snapshotTasks, doneFlags, tasks.getNextId());
+    }
+
+    private SaveFile.Snapshot toSnapshot(List<Task> allTasks, boolean[] doneFlags, long snapshotNextId) {
+        if (isBinary) {
+            return out -> BinarySnapshot.write(out, allTasks, doneFlags, snapshotNextId);
+        }
+        return out -> TextFormat.write(out, allTasks, doneFlags, snapshotNextId);
+    }
+
+    /**
+     * Get the ID to give the next Task added, as recorded by the save file and the journal when they were loaded,
+     * so that the ID of a Task deleted before the list was last saved is never given to another Task.
+     *
+     * @return Next ID, or 0 if neither recorded one, in which case it follows the ID of the last Task.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Loads data from the save file into a new List of Tasks.
+     * If save file is not found, creates a new save file and returns an empty List.
+     * Save files in the binary format are read directly, without parsing any text.
+     * In lazy load mode, the save file is only indexed, and the List builds each Task when it is accessed.
+     * Records in the journal are then replayed on top of the save file, even outside journal mode,
+     * so that changes saved in journal mode are never lost.
+     * The time taken is recorded as loading for the current command.
      *
      * @param ui Prints out error messages to user.
-     * @return ArrayList of Tasks (containing data from save file / empty).
+     * @return List of Tasks (containing data from save file / empty).
      * @throws IOException If save file is not found, and a new one cannot be created.
      */
-    public ArrayList<Task> load(Ui ui) throws IOException {
-        ArrayList<Task> newAllTasks = new ArrayList<>();
-        File save = new File(filePath);
+    public List<Task> load(Ui ui) throws IOException {
+        long startNanos = System.nanoTime();
         try {
-            newAllTasks = readFileContents(save, ui);
-            return newAllTasks;
-        } catch (FileNotFoundException e) {
-            ui.printErrorFileNotFound();
-            save.createNewFile();
+            List<Task> newAllTasks = new ArrayList<>();
+            nextId = 0;
+            File save = new File(filePath);
+            Journal recovered = (journal == null) ? new Journal(filePath) : journal;
+            List<String> records = recovered.recover();
+            if (journal == null && !records.isEmpty()) {
+                staleJournal = recovered;
+            }
+            boolean isClean = staleJournal == null;
+            try {
+                boolean isBinarySave = BinarySnapshot.isBinary(save.toPath());
+                if (loadMode == LoadMode.LAZY && isBinarySave) {
+                    BinarySnapshot.Index index = BinarySnapshot.open(save.toPath());
+                    nextId = index.getNextId();
+                    mappedTasks = new LazyTaskList(index);
+                    newAllTasks = mappedTasks;
+                } else if (loadMode == LoadMode.LAZY && save.exists()) {
+                    TextSaveIndex index = TextSaveIndex.open(save.toPath());
+                    for (int counter : index.getInvalidCounters()) {
+                        ui.printInvalidSaveFile(counter, filePath);
+                    }
+                    isClean &= index.getInvalidCounters().isEmpty();
+                    nextId = index.getNextId();
+                    mappedTasks = new LazyTaskList(index);
+                    newAllTasks = mappedTasks;
+                } else if (isBinarySave) {
+                    BinarySnapshot.Index index = BinarySnapshot.open(save.toPath());
+                    nextId = index.getNextId();
+                    newAllTasks = BinarySnapshot.read(index);
+                } else if (loadMode == LoadMode.PARALLEL && save.exists()) {
+                    ParallelTextReader reader = ParallelTextReader.read(save.toPath());
+                    for (int counter : reader.getInvalidCounters()) {
+                        ui.printInvalidSaveFile(counter, filePath);
+                    }
+                    nextId = reader.getNextId();
+                    newAllTasks = reader.getTasks();
+                } else {
+                    newAllTasks = readFileContents(save, ui);
+                }
+            } catch (FileNotFoundException e) {
+                ui.printErrorFileNotFound();
+                save.createNewFile();
+            }
+            isClean &= replayJournal(records, newAllTasks, ui);
+            isRewriteNeeded = loadMode != LoadMode.LAZY || !isClean;
             return newAllTasks;
+        } finally {
+            Metrics.record(Metrics.Stage.LOAD, startNanos);
         }
     }
 
     /**
-     * Reads all lines in the save file, initialises them as an ArrayList of Tasks.
+     * Reads all lines in the save file, initialises them as an ArrayList of Tasks,
+     * after reading the next ID from the first line if it records one.
      *
      * @param save Save file.
      * @return ArrayList of initialised Tasks based on uncorrupted data in save file.
      * @throws FileNotFoundException If the save file cannot be found at filePath.
      */
-    private static ArrayList<Task> readFileContents(File save, Ui ui) throws FileNotFoundException {
-        Scanner s = new Scanner(save);
+    private ArrayList<Task> readFileContents(File save, Ui ui) throws FileNotFoundException {
+        Scanner s = new Scanner(save, "UTF-8");
         ArrayList<Task> newArrayList = new ArrayList<>();
         int counter = 0;
+        long lastId = 0;
+        boolean isFirstLine = true;
         while (s.hasNext()) {
+            String line = s.nextLine();
+            if (isFirstLine) {
+                isFirstLine = false;
+                nextId = TextFormat.parseNextId(line, 0, line.length());
+                if (nextId > 0) {
+                    continue;
+                }
+            }
             try {
-                newArrayList.add(newTask(s.nextLine()));
+                Task task = TextFormat.parseLine(line);
+                long id = TextFormat.resolveId(task.getId(), lastId);
+                if (id < 0) {
+                    throw new InvalidSaveFile();
+                }
+                task.setId(id);
+                lastId = id;
+                newArrayList.add(task);
                 counter++;
             } catch (InvalidSaveFile e) {
                 ui.printInvalidSaveFile(counter, filePath);
@@ -128,70 +583,77 @@ public class Storage {
     }
 
     /**
-     * Interprets a line from the save file, returns it as a new Task.
+     * Applies records from the journal to the Tasks loaded from the save file, in order,
+     * keeping the next ID past every Task the journal added, even if it was deleted afterwards.
      *
-     * @param text Line from the save file.
-     * @return Corresponding Task to data stored in {@code text}.
-     * @throws InvalidSaveFile If any line in the input data is not of the right format.
+     * @param records Records read from the journal.
+     * @param allTasks Tasks loaded from the save file.
+     * @param ui Prints out error messages to user.
+     * @return {@code true} if every record was applied, {@code false} otherwise.
      */
-    private static Task newTask(String text) throws InvalidSaveFile {
-        char type = getType(text);
-        Boolean isDone = isStatusDone(text);
-        String param = getParam(text);
-        switch (type) {
-        case TXT_TODO_WORD:
-            return newToDo(isDone, param);
-        case TXT_DEADLINE_WORD:
-            return newDeadline(isDone, param);
-        case TXT_EVENT_WORD:
-            return newEvent(isDone, param);
-        default:
-            throw new InvalidSaveFile();
-        }
-    }
-
-    private static char getType(String text) {
-        return text.charAt(TYPE_POS);
-    }
-
-    private static Boolean isStatusDone(String text) {
-        return text.charAt(STATUS_POS) == 'X';
-    }
-
-    private static String getParam(String text) {
-        return text.substring(PARAM_POS);
-    }
-
-    private static ToDo newToDo(Boolean isDone, String param) {
-        ToDo newToDo = new ToDo(param);
-        newToDo.setDone(isDone);
-        return newToDo;
-    }
-
-    private static Deadline newDeadline(Boolean isDone, String param) throws InvalidSaveFile {
-        final String[] paramAndBy;
-        try {
-            paramAndBy = Parser.parseDeadline(param);
-        } catch (InvalidDeadline e) {
-            throw new InvalidSaveFile();
+    private boolean replayJournal(List<String> records, List<Task> allTasks, Ui ui) {
+        boolean isAllApplied = true;
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                long addedId = applyRecord(records.get(i), allTasks);
+                if (addedId >= nextId) {
+                    nextId = addedId + 1;
+                }
+            } catch (InvalidSaveFile e) {
+                ui.printInvalidSaveFile(i, filePath + Journal.JOURNAL_SUFFIX);
+                isAllApplied = false;
+            }
         }
-        Deadline newDeadline = new Deadline(paramAndBy[0], paramAndBy[1]);
-        newDeadline.setDone(isDone);
-        return newDeadline;
+        return isAllApplied;
     }
 
-    private static Event newEvent(Boolean isDone, String param) throws InvalidSaveFile {
-        final String[] paramAndFromTo;
-        try {
-            paramAndFromTo = Parser.parseEvent(param);
-        } catch (InvalidEvent e) {
-            throw new InvalidSaveFile();
-        }
+    /**
+     * Interprets a record from the journal, and applies it to the given Tasks.
+     *
+     * @param record Line from the journal.
+     * @param allTasks Tasks to apply the record to.
+     * @return ID of the Task added or put back by the record, or 0 if it did not add one.
+     * @throws InvalidSaveFile If the record is not of the right format, or refers to a missing Task.
+     */
+    private static long applyRecord(String record, List<Task> allTasks) throws InvalidSaveFile {
         try {
-            Event newEvent = new Event(paramAndFromTo[0], paramAndFromTo[1], paramAndFromTo[2]);
-            newEvent.setDone(isDone);
-            return newEvent;
-        } catch (DateOrderException e) {
+            String param = record.substring(Journal.PARAM_POS);
+            switch (record.charAt(0)) {
+            case Journal.ADD_RECORD:
+                Task task = TextFormat.parseLine(param);
+                long lastId = allTasks.isEmpty() ? 0 : allTasks.get(allTasks.size() - 1).getId();
+                long id = TextFormat.resolveId(task.getId(), lastId);
+                if (id < 0) {
+                    throw new InvalidSaveFile();
+                }
+                task.setId(id);
+                allTasks.add(task);
+                return id;
+            case Journal.MARK_RECORD:
+                allTasks.get(Integer.parseInt(param)).setDone(true);
+                break;
+            case Journal.UNMARK_RECORD:
+                allTasks.get(Integer.parseInt(param)).setDone(false);
+                break;
+            case Journal.DELETE_RECORD:
+                allTasks.remove(Integer.parseInt(param));
+                break;
+            case Journal.INSERT_RECORD:
+                int separator = param.indexOf(' ');
+                int idx = Integer.parseInt(param.substring(0, separator));
+                Task inserted = TextFormat.parseLine(param.substring(separator + 1), false);
+                long prevId = (idx == 0) ? 0 : allTasks.get(idx - 1).getId();
+                long followingId = (idx == allTasks.size()) ? Long.MAX_VALUE : allTasks.get(idx).getId();
+                if (inserted.getId() <= prevId || inserted.getId() >= followingId) {
+                    throw new InvalidSaveFile();
+                }
+                allTasks.add(idx, inserted);
+                return inserted.getId();
+            default:
+                throw new InvalidSaveFile();
+            }
+            return 0;
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
             throw new InvalidSaveFile();
         }
     }
@@ -0,0 +1,328 @@
+package duke;
+
+import duke.storage.FsyncPolicy;
+import duke.storage.LoadMode;
+import duke.task.ColumnarTaskList;
+import duke.task.Task;
+import duke.task.TaskList;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * TaskLists class that holds every named list of Tasks, each with its own TaskList and save file.
+ * The main list is kept in the usual save file, and every other list in {@code save-NAME.txt} beside it.
+ * A list is only loaded the first time it is used, and is saved and closed again once it has been idle for a while.
+ */
+public class TaskLists {
+
+    public static final String MAIN_NAME = "main";
+    private static final String NAMED_PREFIX = "save-";
+    private static final String NAMED_SUFFIX = ".txt";
+
+    private final String mainPath;
+    // Folder holding the save files of every list, null for the working directory
+    private final File dir;
+    private final long idleNanos;
+    // Every list that is currently loaded, by name
+    private final Map<String, NamedList> loaded = new TreeMap<>();
+    private NamedList current;
+    // Whether changes to every list are held back, as set by setDeferred
+    private boolean isDeferred;
+    // Runs queries across lists in parallel, null until the first such query
+    private ExecutorService queryPool;
+    // Raises reminders of every loaded list, null if reminders are off
+    private ReminderScheduler reminders;
+
+    /**
+     * Initialises the lists, none of which are loaded yet.
+     *
+     * @param mainPath Location of the save file of the main list.
+     * @param idleMillis Time after which a list that is not in use is closed, in milliseconds.
+     */
+    public TaskLists(String mainPath, long idleMillis) {
+        this.mainPath = mainPath;
+        this.dir = new File(mainPath).getParentFile();
+        this.idleNanos = idleMillis * 1_000_000;
+    }
+
+    /**
+     * Raises reminders of every list from when it is loaded until it is closed.
+     *
+     * @param reminders Scheduler that raises the reminders.
+     */
+    public void setReminders(ReminderScheduler reminders) {
+        this.reminders = reminders;
+    }
+
+    /**
+     * Checks if the name can be used for a list, which is the case if it is made of only letters, digits,
+     * {@code -} and {@code _}, so that it can be part of a file name.
+     *
+     * @param name Name of the list.
+     * @return {@code true} if the name can be used, {@code false} otherwise.
+     */
+    public static boolean isValidName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean isValidChar = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_';
+            if (!isValidChar) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Switches to the list with the given name, loading it first if needed, or creating it if it does not exist.
+     * Lists other than the new current list that have been idle for too long are then closed.
+     *
+     * @param name Name of the list.
+     * @param ui Prints out error messages from loading the list.
+     * @throws IOException If the list cannot be loaded.
+     */
+    public void use(String name, Ui ui) throws IOException {
+        current = get(name, ui);
+        evictIdle();
+    }
+
+    /**
+     * Get the TaskList of the current list.
+     *
+     * @return TaskList in use.
+     */
+    public TaskList getTasks() {
+        return current.tasks;
+    }
+
+    /**
+     * Get the Storage of the current list.
+     *
+     * @return Storage of the TaskList in use.
+     */
+    public Storage getStorage() {
+        return current.storage;
+    }
+
+    /**
+     * Get the name of the current list.
+     *
+     * @return Name of the list in use.
+     */
+    public String getCurrentName() {
+        return current.name;
+    }
+
+    /**
+     * Get the names of every list, whether it has a save file yet or is only loaded.
+     *
+     * @return Names of every list, with the main list first and the others in order.
+     */
+    public List<String> getNames() {
+        TreeSet<String> names = new TreeSet<>(loaded.keySet());
+        String[] fileNames = ((dir == null) ? new File(".") : dir).list();
+        for (String fileName : (fileNames == null) ? new String[0] : fileNames) {
+            if (fileName.startsWith(NAMED_PREFIX) && fileName.endsWith(NAMED_SUFFIX)) {
+                String name = fileName.substring(NAMED_PREFIX.length(), fileName.length() - NAMED_SUFFIX.length());
+                if (isValidName(name)) {
+                    names.add(name);
+                }
+            }
+        }
+        names.remove(MAIN_NAME);
+        List<String> orderedNames = new ArrayList<>();
+        orderedNames.add(MAIN_NAME);
+        orderedNames.addAll(names);
+        return orderedNames;
+    }
+
+    /**
+     * Runs a query against every list, with each list queried in parallel on its own thread.
+     * Lists that are not loaded are loaded first, one at a time on this thread.
+     *
+     * @param query Shortlists the Tasks of one list.
+     * @param ui Prints out error messages from loading lists.
+     * @param <T> Type of the shortlist returned by the query.
+     * @return Tasks shortlisted from each list that could be loaded, in the order of {@link #getNames()}.
+     */
+    public <T> Map<String, T> queryAll(Function<TaskList, T> query, Ui ui) {
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        for (String name : getNames()) {
+            try {
+                TaskList tasks = get(name, ui).tasks;
+                futures.put(name, getQueryPool().submit(() -> query.apply(tasks)));
+            } catch (IOException e) {
+                ui.printErrorForIO();
+            }
+        }
+        Map<String, T> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Query failed on list " + entry.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return results;
+            }
+        }
+        evictIdle();
+        return results;
+    }
+
+    /**
+     * Sets whether changes to every list, including lists loaded later, are held back instead of being saved
+     * as each command runs.
+     *
+     * @param isDeferred Whether changes should be held back.
+     */
+    public void setDeferred(boolean isDeferred) {
+        this.isDeferred = isDeferred;
+        for (NamedList list : loaded.values()) {
+            list.storage.setDeferred(isDeferred);
+        }
+    }
+
+    /**
+     * Saves any changes that have been held back in every loaded list.
+     *
+     * @throws IOException If something goes wrong while saving.
+     */
+    public void saveDeferred() throws IOException {
+        for (NamedList list : loaded.values()) {
+            list.storage.saveDeferred();
+        }
+    }
+
+    /**
+     * Closes the Storage of every loaded list, saving any outstanding changes.
+     *
+     * @throws IOException If the changes to any list cannot be saved.
+     */
+    public void close() throws IOException {
+        IOException failure = null;
+        for (NamedList list : loaded.values()) {
+            try {
+                list.storage.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Get the list with the given name, loading it if it is not loaded yet.
+     */
+    private NamedList get(String name, Ui ui) throws IOException {
+        NamedList list = loaded.get(name);
+        if (list == null) {
+            list = load(name, ui);
+            loaded.put(name, list);
+        }
+        list.lastUsedNanos = System.nanoTime();
+        return list;
+    }
+
+    private NamedList load(String name, Ui ui) throws IOException {
+        FsyncPolicy fsyncPolicy = (Duke.FSYNC_POLICY == null)
+                ? null
+                : FsyncPolicy.valueOf(Duke.FSYNC_POLICY.toUpperCase());
+        LoadMode loadMode = LoadMode.valueOf(Duke.LOAD_MODE.toUpperCase());
+        Storage storage = new Storage(getPath(name), Duke.IS_JOURNALED, Duke.IS_BINARY, loadMode, fsyncPolicy);
+        List<Task> allTasks = storage.load(ui);
+        if (Duke.UNDO_LIMIT > 0) {
+            storage.enableUndo(Duke.UNDO_LIMIT);
+        }
+        if (Duke.IS_COLUMNAR) {
+            allTasks = new ColumnarTaskList(allTasks);
+        }
+        TaskList tasks = new TaskList(allTasks, Duke.IS_INDEXED);
+        tasks.reserveIds(storage.getNextId());
+        if (storage.isRewriteNeeded()) {
+            storage.update(tasks);
+        }
+        storage.setDeferred(isDeferred);
+        if (reminders != null) {
+            reminders.watch(name, tasks);
+        }
+        return new NamedList(name, storage, tasks);
+    }
+
+    /**
+     * Closes every list other than the current one that has not been used for longer than the idle time.
+     * A list that cannot be saved is kept loaded, so that its changes are not lost.
+     */
+    private void evictIdle() {
+        long now = System.nanoTime();
+        Iterator<NamedList> lists = loaded.values().iterator();
+        while (lists.hasNext()) {
+            NamedList list = lists.next();
+            if (list == current || now - list.lastUsedNanos < idleNanos) {
+                continue;
+            }
+            try {
+                list.storage.close();
+                lists.remove();
+                if (reminders != null) {
+                    reminders.unwatch(list.name);
+                }
+            } catch (IOException e) {
+                // kept loaded, and closed again when next idle or on exit
+            }
+        }
+    }
+
+    private String getPath(String name) {
+        if (name.equals(MAIN_NAME)) {
+            return mainPath;
+        }
+        return new File(dir, NAMED_PREFIX + name + NAMED_SUFFIX).getPath();
+    }
+
+    private ExecutorService getQueryPool() {
+        if (queryPool == null) {
+            queryPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "duke-query");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return queryPool;
+    }
+
+    /**
+     * A loaded list, with when it was last used.
+     */
+    private static class NamedList {
+        private final String name;
+        private final Storage storage;
+        private final TaskList tasks;
+        private long lastUsedNanos;
+
+        private NamedList(String name, Storage storage, TaskList tasks) {
+            this.name = name;
+            this.storage = storage;
+            this.tasks = tasks;
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package duke;
+
+/**
+ * Tokenizer class that finds the parts of commands and save file lines in a single pass over their characters,
+ * without regular expressions.
+ * Positions are returned as offsets into the original text, so that no intermediate Strings are built.
+ * Whitespace is the same as {@code \s} in a regular expression, and trimming is the same as {@code String.trim}.
+ */
+public class Tokenizer {
+
+    /**
+     * Checks if the character is whitespace, the same as {@code \s} in a regular expression.
+     *
+     * @param c Character to check.
+     * @return {@code true} if the character is whitespace, {@code false} otherwise.
+     */
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Get the start of the text once leading characters are trimmed, as {@code String.trim} does.
+     *
+     * @param text Text to trim.
+     * @param start Start of the part of the text to trim.
+     * @param end End of the part of the text to trim.
+     * @return Offset of the first character that is not trimmed, or {@code end} if every character is.
+     */
+    public static int trimStart(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Get the end of the text once trailing characters are trimmed, as {@code String.trim} does.
+     *
+     * @param text Text to trim.
+     * @param start Start of the part of the text to trim.
+     * @param end End of the part of the text to trim.
+     * @return Offset after the last character that is not trimmed, or {@code start} if every character is.
+     */
+    public static int trimEnd(CharSequence text, int start, int end) {
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Finds the first whitespace character.
+     *
+     * @param text Text to search.
+     * @param from Offset to start searching from.
+     * @param end Offset to stop searching at.
+     * @return Offset of the first whitespace character, or -1 if there is none.
+     */
+    public static int indexOfWhitespace(CharSequence text, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skips over a run of whitespace characters.
+     *
+     * @param text Text to search.
+     * @param from Offset to start skipping from.
+     * @param end Offset to stop skipping at.
+     * @return Offset of the first character that is not whitespace, or {@code end} if there is none.
+     */
+    public static int skipWhitespace(CharSequence text, int from, int end) {
+        while (from < end && isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Finds the first delimiter made of one of the given words with a whitespace character on each side,
+     * such as {@code " /by "}, the same as {@code String.split} would.
+     * Where delimiters overlap, the one starting first is found.
+     *
+     * @param text Text to search.
+     * @param from Offset to start searching from.
+     * @param end Offset to stop searching at.
+     * @param words Words that can make up the delimiter, in the order they are tried at each offset.
+     * @return Offset of the whitespace before the delimiter, or -1 if there is none.
+     */
+    public static int indexOfDelimiter(CharSequence text, int from, int end, String... words) {
+        for (int i = from; i < end; i++) {
+            if (getDelimiterLength(text, i, end, words) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the length of the delimiter starting at the given offset,
+     * made of one of the given words with a whitespace character on each side.
+     *
+     * @param text Text to check.
+     * @param pos Offset of the whitespace before the delimiter.
+     * @param end Offset the delimiter must end by.
+     * @param words Words that can make up the delimiter, in the order they are tried.
+     * @return Length of the delimiter including both whitespace characters, or 0 if there is none at the offset.
+     */
+    public static int getDelimiterLength(CharSequence text, int pos, int end, String... words) {
+        if (!isWhitespace(text.charAt(pos))) {
+            return 0;
+        }
+        for (String word : words) {
+            int after = pos + 1 + word.length();
+            if (after < end && isWhitespace(text.charAt(after)) && isWordAt(text, pos + 1, word)) {
+                return word.length() + 2;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isWordAt(CharSequence text, int pos, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (text.charAt(pos + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -1,35 +1,222 @@
 package duke;
 
+import duke.metrics.LatencyHistogram;
+import duke.metrics.Metrics;
+import duke.task.ListFilter;
+import duke.task.ListOrder;
+import duke.task.Reminder;
 import duke.task.Task;
+import duke.task.TaskMatches;
 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.rmi.UnexpectedException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PrimitiveIterator;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 
 /**
  * User Interface class that deals with inputs from and outputs to the user.
  */
 public class Ui {
 
-    // Scanner to read user inputs on CLI
-    private static final Scanner in = new Scanner(System.in);
+    private static final String LINE = "____________________________________________________________";
+    private static final Charset CHARSET = Charset.defaultCharset();
+    // Line divider, encoded once so that it can be written straight to the sink
+    private static final byte[] LINE_BYTES = (LINE + System.lineSeparator()).getBytes(CHARSET);
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Scanner to read user inputs on CLI, or from a client in server mode
+    private final Scanner in;
+
+    // Buffered sink for all output, only written out when flushed
+    private final PrintStream out;
+    // Reused to render each Task in a list before it is encoded
+    private final StringBuilder taskBuilder = new StringBuilder();
+    private final CharsetEncoder encoder = CHARSET.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer encoded = ByteBuffer.allocate(BUFFER_SIZE);
+    // Whether the thread using the Ui is waiting for user input, so that reminders can be printed straight away
+    private boolean isWaiting;
+    // Reminders raised while a command was running, printed once it is done
+    private final List<String> pendingReminders = new ArrayList<>();
+
+    /**
+     * Initialises the Ui to print to standard output.
+     */
+    public Ui() {
+        this(new FileOutputStream(FileDescriptor.out));
+    }
+
+    /**
+     * Initialises the Ui to print to the given sink.
+     * Output is buffered until {@link #flush()} is called.
+     *
+     * @param sink Destination of all output.
+     */
+    public Ui(OutputStream sink) {
+        this(System.in, sink);
+    }
+
+    /**
+     * Initialises the Ui to read from the given source and print to the given sink,
+     * such as the two sides of a client's connection in server mode.
+     * Output is buffered until {@link #flush()} is called.
+     *
+     * @param source Source of user inputs.
+     * @param sink Destination of all output.
+     */
+    public Ui(InputStream source, OutputStream sink) {
+        this.in = new Scanner(source, CHARSET);
+        OutputStream countedSink = new MeteredOutputStream(new BufferedOutputStream(sink, BUFFER_SIZE));
+        this.out = new PrintStream(countedSink, false, CHARSET);
+    }
 
     /**
      * Get user input from CLI.
+     * Any buffered output is flushed first, along with any reminders raised while the last command was running,
+     * so that the user sees it before typing.
      *
      * @return String containing the CLI input.
      */
     public String readCommand() {
-        return in.nextLine();
+        startWaiting();
+        try {
+            return in.nextLine();
+        } finally {
+            stopWaiting();
+        }
+    }
+
+    /**
+     * Checks if there is another user input to read, waiting for one if needed.
+     * Any buffered output is flushed first, along with any reminders raised while the last command was running,
+     * so that the user sees it before typing.
+     *
+     * @return {@code true} if there is another input, {@code false} if the input has ended.
+     */
+    public boolean hasNextCommand() {
+        startWaiting();
+        try {
+            return in.hasNextLine();
+        } finally {
+            stopWaiting();
+        }
+    }
+
+    /**
+     * Prints the reminders held back while the last command was running, and flushes all output,
+     * before waiting for user input.
+     */
+    private synchronized void startWaiting() {
+        for (String reminder : pendingReminders) {
+            printReminderText(reminder);
+        }
+        pendingReminders.clear();
+        flush();
+        isWaiting = true;
+    }
+
+    /**
+     * Holds back any reminders from then on, as the output of the next command is about to be printed.
+     * As this waits for any reminder being printed, no other thread writes to the output until the next wait.
+     */
+    private synchronized void stopWaiting() {
+        isWaiting = false;
+    }
+
+    /**
+     * Writes out all buffered output.
+     */
+    public void flush() {
+        out.flush();
     }
 
     /**
      * Prints out a line divider.
      */
     public void showLine() {
-        System.out.println("____________________________________________________________");
+        out.write(LINE_BYTES, 0, LINE_BYTES.length);
+    }
+
+    /**
+     * Prints each Task with its index in the list, rendering it into a reused StringBuilder,
+     * and encoding it into a reused buffer.
+     * The time taken is recorded as rendering for the current command.
+     *
+     * @param tasks Tasks to be printed.
+     */
+    private void printTasks(List<Task> tasks) {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < tasks.size(); i++) {
+            printTask(i, tasks.get(i), false);
+        }
+        Metrics.record(Metrics.Stage.RENDER, startNanos);
+    }
+
+    /**
+     * Prints the matching Tasks, each numbered by its index in the whole list, as {@code list} does.
+     * The time taken is recorded as rendering for the current command.
+     *
+     * @param matches Indexes of the Tasks to be printed.
+     */
+    private void printMatches(TaskMatches matches) {
+        long startNanos = System.nanoTime();
+        PrimitiveIterator.OfInt idxs = matches.iterateIdxs();
+        while (idxs.hasNext()) {
+            int idx = idxs.nextInt();
+            printTask(idx, matches.getAllTasks().get(idx), false);
+        }
+        Metrics.record(Metrics.Stage.RENDER, startNanos);
+    }
+
+    private void printTask(int idx, Task task, boolean isIdShown) {
+        taskBuilder.setLength(0);
+        taskBuilder.append(idx + 1).append('.');
+        if (isIdShown) {
+            taskBuilder.append("[#").append(task.getId()).append(']');
+        }
+        task.appendTo(taskBuilder);
+        taskBuilder.append(System.lineSeparator());
+        writeTaskBuilder();
+    }
+
+    private void writeTaskBuilder() {
+        CharBuffer chars = CharBuffer.wrap(taskBuilder);
+        encoder.reset();
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, encoded, true);
+            writeEncoded();
+        } while (result.isOverflow());
+        do {
+            result = encoder.flush(encoded);
+            writeEncoded();
+        } while (result.isOverflow());
+    }
+
+    private void writeEncoded() {
+        out.write(encoded.array(), 0, encoded.position());
+        encoded.clear();
     }
 
     /**
@@ -37,7 +224,7 @@ public class Ui {
      */
     public void printWelcomeMessage() {
         showLine();
-        System.out.println("Hello from\n" +
+        out.println("Hello from\n" +
                 " ____        _\n" +
                 "|  _ \\ _   _| | _____\n" +
                 "| | | | | | | |/ / _ \\\n" +
@@ -47,20 +234,90 @@ public class Ui {
         showLine();
     }
 
+    /**
+     * Prints a reminder that a Deadline is about to be due, or that an Event is about to start.
+     * This may be called from another thread than the one using the Ui. The reminder is printed and flushed
+     * straight away if that thread is waiting for user input, or else held back until the command it is running
+     * is done, so that the reminder never lands in the middle of the output of a command.
+     *
+     * @param reminder Reminder to be printed.
+     * @param listName Name of the list the Task is in, or null for the main list.
+     * @param now Current time in seconds since the epoch.
+     */
+    public synchronized void printReminder(Reminder reminder, String listName, long now) {
+        String from = (listName == null) ? "" : " from the \"" + listName + "\" list";
+        String verb = reminder.isStart() ? "starts" : "is due";
+        String noun = reminder.isStart() ? "event" : "deadline";
+        long seconds = reminder.getDueSeconds() - now;
+        String when = (seconds < TimeUnit.MINUTES.toSeconds(1)) ? "now" : "in " + formatDuration(seconds);
+        String text = "Reminder" + from + ": this " + noun + " " + verb + " " + when + ":\n  " + reminder.getTaskLine();
+        if (isWaiting) {
+            printReminderText(text);
+            flush();
+        } else {
+            pendingReminders.add(text);
+        }
+    }
+
+    private void printReminderText(String text) {
+        showLine();
+        out.println(text);
+        showLine();
+    }
+
+    /**
+     * Formats a number of seconds as days, hours and minutes, rounded to the nearest minute.
+     */
+    private static String formatDuration(long seconds) {
+        long minutes = (seconds + TimeUnit.MINUTES.toSeconds(1) / 2) / TimeUnit.MINUTES.toSeconds(1);
+        long days = TimeUnit.MINUTES.toDays(minutes);
+        long hours = TimeUnit.MINUTES.toHours(minutes) % TimeUnit.DAYS.toHours(1);
+        minutes %= TimeUnit.HOURS.toMinutes(1);
+        StringBuilder text = new StringBuilder();
+        appendUnit(text, days, "day");
+        appendUnit(text, hours, "hour");
+        appendUnit(text, minutes, "minute");
+        return text.toString();
+    }
+
+    private static void appendUnit(StringBuilder text, long amount, String unit) {
+        if (amount == 0) {
+            return;
+        }
+        if (text.length() > 0) {
+            text.append(' ');
+        }
+        text.append(amount).append(' ').append(unit).append((amount == 1) ? "" : "s");
+    }
+
     /**
      * For {@code help} command.
      * Prints out a list of all available commands.
      */
     public void printHelpMessage() {
-        System.out.println(" Enter \"list\" to see all tasks\n" +
+        out.println(" Enter \"list\" to see all tasks, or \"list --ids\" to see them with their IDs\n" +
+                " Enter \"list [todo|done|overdue] [page]\" to see only some tasks, or one page of them,\n" +
+                "     with \"--page-size [size]\" to change the number of tasks on each page\n" +
+                "     and \"--sort due\" or \"--sort start\" to sort them by date\n" +
                 " Enter \"todo [task]\" to add a task\n" +
                 " Enter \"deadline [task] /by [date]\" to add a deadline\n" +
                 " Enter \"event [task] /from [date] /to [date]\" to add an event\n" +
                 " Enter \"mark [idx]\" to mark task as done\n" +
                 " Enter \"unmark [idx]\" to mark task as not done\n" +
                 " Enter \"delete [idx]\" to remove task from list\n" +
+                " Enter \"#[id]\" instead of [idx] to refer to a task by its ID, which never changes\n" +
+                " Enter \"mark\", \"unmark\" or \"delete\" with [start]-[end], all, done or undone\n" +
+                "   instead of [idx], optionally followed by find:[keyword], to change many tasks at once\n" +
+                " Enter \"undo\" to undo the last add, mark, unmark or delete, and \"redo\" to apply it again\n" +
                 " Enter \"find [keyword]\" to see all tasks containing [keyword]\n" +
                 " Enter \"date [yyyy-MM-dd]\" to see all tasks occurring on that date\n" +
+                " Enter \"date [yyyy-MM-dd] /to [yyyy-MM-dd]\" to see all tasks occurring between those dates\n" +
+                " Enter \"overdue\" to see all tasks that are not done but are past their date\n" +
+                " Enter \"upcoming [n]d\" to see all tasks not done that are due or happening in the next [n] days\n" +
+                " Enter \"export [file]\" to save a copy of all tasks as text\n" +
+                " Enter \"use [list]\" to switch to another list, or \"use\" to see all lists\n" +
+                " Enter \"find\", \"date\", \"overdue\" or \"upcoming\" with --all to search every list\n" +
+                " Enter \"stats\" to see how long each command has taken\n" +
                 " Enter \"bye\" to exit the program\n\n" +
                 " ***NOTE***\n" +
                 " The \"date\" command only considers tasks when [date] is input in the format:\n" +
@@ -69,19 +326,49 @@ public class Ui {
     }
 
     /**
-     * For {@code list} command.
-     * Prints all Tasks within the ArrayList given.
+     * For {@code list} command with a filter, an order or a page.
+     * Prints the Tasks at the given indexes, each numbered by its place in the whole list so that the number
+     * can be used in other commands. Each Task is only built and rendered as its index is reached,
+     * and output is written out whenever the buffer fills, so a long list starts printing straight away.
+     * With a page, only the Tasks on that page are printed, but every index is counted to give the number of pages.
      *
-     * @param allTasks ArrayList of Tasks.
+     * @param allTasks List of all Tasks.
+     * @param matches Indexes of the Tasks that passed the filter, in the order they are printed.
+     * @param filter Filter that the Tasks passed.
+     * @param order Order of the indexes.
+     * @param page Page to be printed, starting from 1, or 0 to print every Task.
+     * @param pageSize Number of Tasks on each page.
+     * @param isIdShown Whether the ID of each Task is shown.
      */
-    public void printList(ArrayList<Task> allTasks) {
-        if (allTasks.size() == 0) {
-            System.out.println("There are no tasks in your list!");
+    public void printList(List<Task> allTasks, PrimitiveIterator.OfInt matches, ListFilter filter, ListOrder order,
+            int page, int pageSize, boolean isIdShown) {
+        long startNanos = System.nanoTime();
+        long first = (page == 0) ? 0 : (long) (page - 1) * pageSize;
+        long end = (page == 0) ? Long.MAX_VALUE : first + pageSize;
+        int count = 0;
+        while (matches.hasNext()) {
+            int idx = matches.nextInt();
+            if (count == first) {
+                out.println("Here are the tasks in your list" + filter.getDescription() + order.getDescription() + ":");
+            }
+            if (count >= first && count < end) {
+                printTask(idx, allTasks.get(idx), isIdShown);
+            }
+            count++;
+        }
+        Metrics.record(Metrics.Stage.RENDER, startNanos);
+        if (count == 0) {
+            out.println("There are no tasks in your list" + filter.getDescription() + "!");
             return;
         }
-        System.out.println("Here are the tasks in your list:");
-        for (int i = 0; i < allTasks.size(); i++) {
-            System.out.println(i + 1 + "." + allTasks.get(i));
+        if (page == 0) {
+            return;
+        }
+        int pageCount = (int) ((count + (long) pageSize - 1) / pageSize);
+        if (count <= first) {
+            out.println("There is no page " + page + ", the last page is " + pageCount);
+        } else {
+            out.println("Page " + page + " of " + pageCount + ", out of " + count + " tasks");
         }
     }
 
@@ -92,7 +379,7 @@ public class Ui {
      * @param newTask Task that has just been added.
      */
     public void printAddMessage(Task newTask) {
-        System.out.println("Got it. I've added this " + newTask.getType() + ":\n" +
+        out.println("Got it. I've added this " + newTask.getType() + ":\n" +
                 "  " + newTask);
     }
 
@@ -103,7 +390,7 @@ public class Ui {
      * @param doneTask Task that has just been marked as done.
      */
     public void printMarkDone(Task doneTask) {
-        System.out.println("Nice!, I've marked this task as done:\n" +
+        out.println("Nice!, I've marked this task as done:\n" +
                 "  " + doneTask);
     }
 
@@ -114,7 +401,7 @@ public class Ui {
      * @param notDoneTask Task that has just been marked as not done.
      */
     public void printMarkNotDone(Task notDoneTask) {
-        System.out.println("OK, I've marked this task as not done yet:\n" +
+        out.println("OK, I've marked this task as not done yet:\n" +
                 "  " + notDoneTask);
     }
 
@@ -126,11 +413,104 @@ public class Ui {
      * @param size Number of tasks left in the list after deletion.
      */
     public void printDeleted(Task deletedTask, int size) {
-        System.out.println("Noted, I've removed this task:\n" +
+        out.println("Noted, I've removed this task:\n" +
                 "  " + deletedTask + "\n" +
                 "Now you have " + (size - 1) + " tasks in the list");
     }
 
+    /**
+     * For {@code mark} command on a selection of tasks.
+     * Prints out how many Tasks were marked.
+     *
+     * @param count Number of Tasks marked as done.
+     */
+    public void printBulkMarkDone(int count) {
+        out.println("Nice!, I've marked " + count + " tasks as done");
+    }
+
+    /**
+     * For {@code unmark} command on a selection of tasks.
+     * Prints out how many Tasks were unmarked.
+     *
+     * @param count Number of Tasks marked as not done.
+     */
+    public void printBulkMarkNotDone(int count) {
+        out.println("OK, I've marked " + count + " tasks as not done yet");
+    }
+
+    /**
+     * For {@code delete} command on a selection of tasks.
+     * Prints out how many Tasks were deleted, and how many are left.
+     *
+     * @param count Number of Tasks deleted.
+     * @param size Number of Tasks left in the TaskList.
+     */
+    public void printBulkDeleted(int count, int size) {
+        out.println("Noted, I've removed " + count + " tasks\n" +
+                "Now you have " + size + " tasks in the list");
+    }
+
+    /**
+     * For {@code undo} command.
+     * Prints out which command was undone, and how many Tasks it changed.
+     *
+     * @param commandWord Command word of the command that was undone.
+     * @param count Number of Tasks changed back.
+     * @param size Number of Tasks in the TaskList afterwards.
+     */
+    public void printUndone(String commandWord, int count, int size) {
+        out.println("Undone the last " + commandWord + ", of " + count + ((count == 1) ? " task\n" : " tasks\n") +
+                "Now you have " + size + " tasks in the list");
+    }
+
+    /**
+     * For {@code redo} command.
+     * Prints out which command was applied again, and how many Tasks it changed.
+     *
+     * @param commandWord Command word of the command that was redone.
+     * @param count Number of Tasks changed again.
+     * @param size Number of Tasks in the TaskList afterwards.
+     */
+    public void printRedone(String commandWord, int count, int size) {
+        out.println("Redone the last " + commandWord + ", of " + count + ((count == 1) ? " task\n" : " tasks\n") +
+                "Now you have " + size + " tasks in the list");
+    }
+
+    /**
+     * For {@code undo} and {@code redo} commands.
+     * Prints out that there is no command to undo or redo.
+     *
+     * @param commandWord {@code undo} or {@code redo}.
+     */
+    public void printNothingToUndo(String commandWord) {
+        out.println("There is nothing to " + commandWord + "!");
+    }
+
+    /**
+     * For {@code undo} and {@code redo} commands.
+     * Prints out that undo is turned off.
+     */
+    public void printUndoOff() {
+        out.println("Undo is turned off, so nothing was changed!");
+    }
+
+    /**
+     * For {@code undo} and {@code redo} commands.
+     * Prints out that the list no longer matches the commands that could be undone, so they were dropped.
+     */
+    public void printUndoCleared() {
+        out.println("The list has changed since that command, so nothing was changed,\n" +
+                "and there is nothing left to undo or redo!");
+    }
+
+    /**
+     * For {@code mark}, {@code unmark} and {@code delete} commands on a selection of tasks.
+     * Prints out that no Tasks were selected, so nothing was changed.
+     */
+    public void printNoneSelected() {
+        out.println("There are no matching tasks, so nothing was changed!");
+    }
+
     /**
      * For {@code find} command.
      * Prints all Tasks within the ArrayList given, all containing a certain keyword.
@@ -139,13 +519,11 @@ public class Ui {
      */
     public void printFoundList(ArrayList<Task> foundTasks) {
         if (foundTasks.size() == 0) {
-            System.out.println("There are no matching tasks!");
+            out.println("There are no matching tasks!");
             return;
         }
-        System.out.println("Here are the matching tasks in your list:");
-        for (int i = 0; i < foundTasks.size(); i++) {
-            System.out.println(i + 1 + "." + foundTasks.get(i));
-        }
+        out.println("Here are the matching tasks in your list:");
+        printTasks(foundTasks);
     }
 
     /**
@@ -158,20 +536,177 @@ public class Ui {
     public void printDateList(ArrayList<Task> happeningTasks, LocalDate date) {
         String dateString = date.format(DateTimeFormatter.ofPattern("MMM dd yyyy"));
         if (happeningTasks.size() == 0) {
-            System.out.println("There are no tasks on " + dateString + "!");
+            out.println("There are no tasks on " + dateString + "!");
+            return;
+        }
+        out.println("Here are the tasks happening on " + dateString + ":");
+        printTasks(happeningTasks);
+    }
+
+    /**
+     * For {@code date} command with a range of dates.
+     * Prints all Tasks within the ArrayList given, all happening within a certain range of dates.
+     *
+     * @param happeningTasks ArrayList of Tasks happening within the range.
+     * @param start First date of the range.
+     * @param end Last date of the range.
+     */
+    public void printDateRangeList(ArrayList<Task> happeningTasks, LocalDate start, LocalDate end) {
+        DateTimeFormatter pattern = DateTimeFormatter.ofPattern("MMM dd yyyy");
+        String rangeString = "from " + start.format(pattern) + " to " + end.format(pattern);
+        if (happeningTasks.size() == 0) {
+            out.println("There are no tasks " + rangeString + "!");
             return;
         }
-        System.out.println("Here are the tasks happening on " + dateString + ":");
-        for (int i = 0; i < happeningTasks.size(); i++) {
-            System.out.println(i + 1 + "." + happeningTasks.get(i));
+        out.println("Here are the tasks happening " + rangeString + ":");
+        printTasks(happeningTasks);
+    }
+
+    /**
+     * For {@code overdue} command.
+     * Prints all overdue Tasks, each numbered by its place in the whole list so that the number can be used
+     * in other commands.
+     *
+     * @param overdueTasks Indexes of the Tasks that are overdue.
+     */
+    public void printOverdueList(TaskMatches overdueTasks) {
+        if (overdueTasks.size() == 0) {
+            out.println("There are no overdue tasks!");
+            return;
         }
+        out.println("Here are the overdue tasks in your list:");
+        printMatches(overdueTasks);
+    }
+
+    /**
+     * For {@code upcoming} command.
+     * Prints all Tasks due or taking place within the next few days, each numbered by its place in the whole list
+     * so that the number can be used in other commands.
+     *
+     * @param upcomingTasks Indexes of the Tasks that are upcoming.
+     * @param days Number of days that was used to shortlist the tasks.
+     */
+    public void printUpcomingList(TaskMatches upcomingTasks, int days) {
+        String periodString = "in the next " + days + ((days == 1) ? " day" : " days");
+        if (upcomingTasks.size() == 0) {
+            out.println("There are no tasks " + periodString + "!");
+            return;
+        }
+        out.println("Here are the tasks due or happening " + periodString + ":");
+        printMatches(upcomingTasks);
+    }
+
+    /**
+     * For {@code export} command.
+     * Prints out message for successful exporting of the TaskList.
+     *
+     * @param size Number of tasks exported.
+     * @param exportPath Location of the exported file.
+     */
+    public void printExported(int size, String exportPath) {
+        out.println("Done! I've exported " + size + " tasks to " + exportPath);
+    }
+
+    /**
+     * For {@code use} command.
+     * Prints out the list that is now in use.
+     *
+     * @param name Name of the list.
+     * @param size Number of tasks in the list.
+     */
+    public void printUsingList(String name, int size) {
+        out.println("Now using the \"" + name + "\" list, which has " + size + " tasks");
+    }
+
+    /**
+     * For {@code use} command without a name.
+     * Prints out the name of every list, marking the one in use.
+     *
+     * @param names Names of every list.
+     * @param currentName Name of the list in use.
+     */
+    public void printListNames(List<String> names, String currentName) {
+        out.println("Here are your lists:");
+        for (String name : names) {
+            out.println((name.equals(currentName) ? " * " : "   ") + name);
+        }
+    }
+
+    /**
+     * For {@code find} and {@code date} commands across every list.
+     * Prints out the name of the list whose matching tasks follow.
+     *
+     * @param name Name of the list.
+     */
+    public void printListName(String name) {
+        out.println("[" + name + "]");
+    }
+
+    /**
+     * For batch mode.
+     * Prints out how many commands were run in a batch, and how quickly.
+     *
+     * @param batchCount Number of commands run in the batch.
+     * @param count Number of commands run so far.
+     * @param isSaved Whether the changes from the batch were saved.
+     * @param nanos Time taken to run and save the batch, in nanoseconds.
+     */
+    public void printBatchReport(int batchCount, int count, boolean isSaved, long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        long perSecond = (nanos == 0) ? 0 : batchCount * TimeUnit.SECONDS.toNanos(1) / nanos;
+        out.println("Ran " + batchCount + " commands in " + millis + "ms (" + perSecond + " commands/s), "
+                + count + " in total. " + (isSaved ? "Changes saved." : "Changes could not be saved."));
+    }
+
+    /**
+     * For server mode.
+     * Prints out where the server is accepting connections.
+     *
+     * @param port Port the server is listening on.
+     */
+    public void printServerStarted(int port) {
+        out.println("Serving sessions on port " + port + ". Stop the server to save and exit.");
+    }
+
+    /**
+     * For {@code stats} command.
+     * Prints the count and latency percentiles of each timed stage, and the output written,
+     * for each type of command that has been handled.
+     *
+     * @param allMetrics Metrics of each type of command.
+     */
+    public void printStats(Map<String, Metrics.CommandMetrics> allMetrics) {
+        out.println("Here are the stats for each command (latencies in ms):");
+        out.println(String.format(Locale.ROOT, " %-9s %-8s %8s %9s %9s %9s %9s",
+                "command", "stage", "count", "p50", "p90", "p99", "max"));
+        for (Map.Entry<String, Metrics.CommandMetrics> entry : allMetrics.entrySet()) {
+            for (Metrics.Stage stage : Metrics.Stage.values()) {
+                LatencyHistogram histogram = entry.getValue().getHistogram(stage);
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                out.println(String.format(Locale.ROOT, " %-9s %-8s %8d %9.3f %9.3f %9.3f %9.3f",
+                        entry.getKey(), stage.getName(), histogram.getCount(),
+                        toMillis(histogram.getValueAtQuantile(0.5)), toMillis(histogram.getValueAtQuantile(0.9)),
+                        toMillis(histogram.getValueAtQuantile(0.99)), toMillis(histogram.getMax())));
+            }
+        }
+        out.print(" Output written:");
+        for (Map.Entry<String, Metrics.CommandMetrics> entry : allMetrics.entrySet()) {
+            out.print(" " + entry.getKey() + " " + entry.getValue().getBytes() + "B");
+        }
+        out.println();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
     }
 
     /**
      * Prints the exit message.
      */
     public void printExitMessage() {
-        System.out.println("Bye. Hope to see you again soon!");
+        out.println("Bye. Hope to see you again soon!");
     }
 
     // error messages
@@ -184,9 +719,9 @@ public class Ui {
     public void printErrorForIdx(int size) {
         boolean isEmptyTaskList = (size == 0);
         if (!isEmptyTaskList) {
-            System.out.println("Please enter [idx] in the form of an integer from 1 to " + size);
+            out.println("Please enter [idx] in the form of an integer from 1 to " + size);
         } else {
-            System.out.println("There are no tasks in your list!");
+            out.println("There are no tasks in your list!");
         }
     }
 
@@ -194,7 +729,7 @@ public class Ui {
      * Prints error message if reading or writing to the hard disk throws an IO error.
      */
     public void printErrorForIO() {
-        System.out.println("Something went wrong with the hard disk :(");
+        out.println("Something went wrong with the hard disk :(");
     }
 
     /**
@@ -202,7 +737,7 @@ public class Ui {
      */
     public void printErrorFileNotFound() {
         showLine();
-        System.out.println("Save file not found, initialising empty list...");
+        out.println("Save file not found, initialising empty list...");
         showLine();
     }
 
@@ -210,28 +745,28 @@ public class Ui {
      * Prints error message if the deadline entered does not fit the format.
      */
     public void printInvalidDeadline() {
-        System.out.println("Please enter deadline as \"deadline [task] /by [date]\".");
+        out.println("Please enter deadline as \"deadline [task] /by [date]\".");
     }
 
     /**
      * Prints error message if the event entered does not fit the format.
      */
     public void printInvalidEvent() {
-        System.out.println("Please enter event as \"event [task] /from [date] /to [date]\".");
+        out.println("Please enter event as \"event [task] /from [date] /to [date]\".");
     }
 
     /**
      * Prints error message if the date entered does not fit the format.
      */
     public void printInvalidDateTime() {
-        System.out.println("Please enter date in the format of yyyy-MM-dd.");
+        out.println("Please enter date in the format of yyyy-MM-dd.");
     }
 
     /**
      * Prints error message if the command entered is not understood by Duke.
      */
     public void printInvalidCommand() {
-        System.out.println("Sorry, but I don't know what that means :(");
+        out.println("Sorry, but I don't know what that means :(");
     }
 
     /**
@@ -242,7 +777,7 @@ public class Ui {
      */
     public void printInvalidSaveFile(int counter, String filePath) {
         showLine();
-        System.out.println("There is an error in save.txt at line " + (counter + 1) + "\n" +
+        out.println("There is an error in save.txt at line " + (counter + 1) + "\n" +
                 "Task " + (counter + 1) + " has been excluded. You can edit the save file at:\n" +
                 filePath);
         showLine();
@@ -252,21 +787,67 @@ public class Ui {
      * Prints error message if the user does not specify the description of a task.
      */
     public void printEmptyDescription() {
-        System.out.println("Oops! The description of a task cannot be empty.");
+        out.println("Oops! The description of a task cannot be empty.");
     }
 
     /**
      * Prints error message if the user does not specify the keyword of a search.
      */
     public void printEmptyKeyword() {
-        System.out.println("Please specify a keyword to do the search with!");
+        out.println("Please specify a keyword to do the search with!");
+    }
+
+    /**
+     * Prints error message if there is no task with the ID given.
+     *
+     * @param id ID given by the user.
+     */
+    public void printUnknownId(long id) {
+        out.println("There is no task with ID #" + id + " in your list!");
+    }
+
+    /**
+     * Prints error message if the tasks selected by a bulk command are not given in the right format.
+     */
+    public void printInvalidSelection() {
+        out.println("Please select tasks as [start]-[end], all, done or undone,\n" +
+                "optionally followed by find:[keyword].");
+    }
+
+    /**
+     * Prints error message if the filter, page or page size of a list is not in the right format.
+     */
+    public void printInvalidListOption() {
+        out.println("Please enter \"list [todo|done|overdue] [page]\", where [page] is a positive integer,\n" +
+                "optionally with --page-size [size], --sort due|start and --ids.");
+    }
+
+    /**
+     * Prints error message if the period given to the upcoming command is not in the right format.
+     */
+    public void printInvalidPeriod() {
+        out.println("Please enter \"upcoming [n]d\", where [n] is a positive number of days.");
+    }
+
+    /**
+     * Prints error message if the name of a list cannot be used.
+     */
+    public void printInvalidListName() {
+        out.println("Please name the list with only letters, digits, - and _.");
+    }
+
+    /**
+     * Prints error message if other lists are used in server mode, which serves only the main list.
+     */
+    public void printListsUnavailable() {
+        out.println("Sorry, only the main list can be used in server mode.");
     }
 
     /**
      * Prints error message if the start date of an even occurs after the end date.
      */
     public void printDateOrderException() {
-        System.out.println("Oops, the start date for your event occurs after the end date!");
+        out.println("Oops, the start date for your event occurs after the end date!");
     }
 
     /**
@@ -275,7 +856,29 @@ public class Ui {
      * @param exception Contains detail message saying where error occurred.
      */
     public void printUnexpectedException(UnexpectedException exception) {
-        System.out.println("Oh no... Something went wrong while doing the following:  " + exception.getMessage() +
+        out.println("Oh no... Something went wrong while doing the following:  " + exception.getMessage() +
                 "\nExiting Duke...");
     }
+
+    /**
+     * Passes output on to the sink, adding the number of bytes to the Metrics of the current command.
+     */
+    private static class MeteredOutputStream extends FilterOutputStream {
+        private MeteredOutputStream(OutputStream sink) {
+            super(sink);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            Metrics.addBytes(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            Metrics.addBytes(len);
+        }
+    }
+
 }
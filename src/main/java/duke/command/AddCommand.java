@@ -3,6 +3,8 @@ package duke.command;
 import duke.Parser;
 import duke.Storage;
 import duke.exception.DateOrderException;
+import duke.storage.UndoStep;
+import duke.task.Task;
 import duke.task.TaskList;
 import duke.Ui;
 import duke.exception.InvalidDeadline;
@@ -82,12 +84,14 @@ public class AddCommand extends Command {
         default:
             throw new UnexpectedException("Adding Task");
         }
-        ui.printAddMessage(tasks.allTasks.get(tasks.getSize() - 1));
+        Task newTask = tasks.allTasks.get(tasks.getSize() - 1);
+        ui.printAddMessage(newTask);
         try {
-            storage.update(tasks);
+            storage.saveAdded(tasks, newTask);
         } catch (IOException e) {
             ui.printErrorForIO();
         }
+        recordUndo(UndoStep.added(newTask), ui, storage);
     }
 
 }
@@ -0,0 +1,108 @@
+package duke.command;
+
+import duke.Storage;
+import duke.Ui;
+import duke.storage.UndoStep;
+import duke.task.Task;
+import duke.task.TaskList;
+import duke.task.TaskSelection;
+
+import java.io.IOException;
+import java.rmi.UnexpectedException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static duke.Parser.COMMAND_DELETE_WORD;
+import static duke.Parser.COMMAND_MARK_WORD;
+import static duke.Parser.COMMAND_UNMARK_WORD;
+
+/**
+ * Bulk Mark and Delete Command class that modifies every Task in a selection at once.
+ * Handles {@code mark}, {@code unmark}, and {@code delete} commands given a range, status, or keyword
+ * instead of a single index.
+ * The TaskList is changed in a single pass, and saved once, and the change is undone as a single step.
+ */
+public class BulkModifyCommand extends Command {
+
+    protected String command;
+    protected TaskSelection selection;
+
+    /**
+     * Initialises the class with the type of modification and the Tasks to modify.
+     *
+     * @param command Type of modification command being executed (mark, unmark, delete).
+     * @param selection Tasks to be modified.
+     */
+    public BulkModifyCommand(String command, TaskSelection selection) {
+        this.command = command;
+        this.selection = selection;
+    }
+
+    /**
+     * Executes the modification of every selected Task in the TaskList tasks, then saves the changes once.
+     *
+     * @param tasks The TaskList of existing Tasks.
+     * @param ui Prints success or error message to user.
+     * @param storage Gets updated after the TaskList has been modified.
+     * @throws UnexpectedException If the command stored is not recognised.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws UnexpectedException {
+        BitSet selected = tasks.selectTasks(selection);
+        int count = selected.cardinality();
+        if (count == 0) {
+            ui.printNoneSelected();
+            return;
+        }
+        UndoStep step = (storage.getUndoLog() == null) ? null : getUndoStep(tasks, selected);
+        try {
+            switch (command) {
+            case COMMAND_MARK_WORD:
+                tasks.markTasks(selected, true);
+                ui.printBulkMarkDone(count);
+                break;
+            case COMMAND_UNMARK_WORD:
+                tasks.markTasks(selected, false);
+                ui.printBulkMarkNotDone(count);
+                break;
+            case COMMAND_DELETE_WORD:
+                tasks.deleteTasks(selected);
+                ui.printBulkDeleted(count, tasks.getSize());
+                break;
+            default:
+                throw new UnexpectedException("Modifying Tasks");
+            }
+            storage.saveBulk(tasks);
+        } catch (IOException e) {
+            ui.printErrorForIO();
+        }
+        recordUndo(step, ui, storage);
+    }
+
+    /**
+     * Get the step that undoes the command, before the TaskList is modified.
+     * Only Tasks whose status will change are kept for a mark or unmark.
+     *
+     * @param tasks The TaskList of existing Tasks.
+     * @param selected Indexes of the selected Tasks.
+     * @return Step of the command, or null if it changes nothing.
+     */
+    private UndoStep getUndoStep(TaskList tasks, BitSet selected) {
+        if (command.equals(COMMAND_DELETE_WORD)) {
+            int[] idxs = selected.stream().toArray();
+            List<Task> deletedTasks = new ArrayList<>(idxs.length);
+            for (int idx : idxs) {
+                deletedTasks.add(tasks.allTasks.get(idx));
+            }
+            return UndoStep.deleted(idxs, deletedTasks);
+        }
+        boolean isDone = command.equals(COMMAND_MARK_WORD);
+        long[] ids = selected.stream()
+                .filter(idx -> tasks.isDone(idx) != isDone)
+                .mapToLong(tasks::getId)
+                .toArray();
+        return (ids.length == 0) ? null : UndoStep.marked(ids, isDone);
+    }
+
+}
@@ -1,9 +1,13 @@
 package duke.command;
 
 import duke.Storage;
+import duke.TaskLists;
 import duke.task.TaskList;
 import duke.Ui;
+import duke.metrics.Metrics;
+import duke.storage.UndoStep;
 
+import java.io.IOException;
 import java.rmi.UnexpectedException;
 
 /**
@@ -24,6 +28,79 @@ public abstract class Command {
     public void execute(TaskList tasks, Ui ui, Storage storage) throws UnexpectedException {
     }
 
+    /**
+     * Executes the command against the list in use, or against every list for commands that span them.
+     *
+     * @param lists Every list of tasks, including the one in use.
+     * @param ui Prints output messages to user.
+     * @throws UnexpectedException If something unexpected occurs.
+     */
+    public void execute(TaskLists lists, Ui ui) throws UnexpectedException {
+        execute(lists.getTasks(), ui, lists.getStorage());
+    }
+
+    /**
+     * Executes the command, recording how long it took against the type of command set on this thread.
+     *
+     * @param tasks TaskList containing all currently saved tasks.
+     * @param ui Prints output messages to user.
+     * @param storage Updates the local save file if the TaskList is modified.
+     * @throws UnexpectedException If something unexpected occurs.
+     */
+    public final void executeTimed(TaskList tasks, Ui ui, Storage storage) throws UnexpectedException {
+        long startNanos = System.nanoTime();
+        try {
+            execute(tasks, ui, storage);
+        } finally {
+            Metrics.record(Metrics.Stage.EXECUTE, startNanos);
+        }
+    }
+
+    /**
+     * Executes the command against the given lists, recording how long it took against the type of command
+     * set on this thread.
+     *
+     * @param lists Every list of tasks, including the one in use.
+     * @param ui Prints output messages to user.
+     * @throws UnexpectedException If something unexpected occurs.
+     */
+    public final void executeTimed(TaskLists lists, Ui ui) throws UnexpectedException {
+        long startNanos = System.nanoTime();
+        try {
+            execute(lists, ui);
+        } finally {
+            Metrics.record(Metrics.Stage.EXECUTE, startNanos);
+        }
+    }
+
+    /**
+     * Checks if the command only reads the TaskList, so that it can run alongside other such commands.
+     *
+     * @return {@code true} if the command does not modify the TaskList or save anything, {@code false} otherwise.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Records the step of a command that has changed the TaskList, so that it can be undone.
+     * This is done even if saving the change failed, as the TaskList has changed either way.
+     *
+     * @param step Step of the command, or null if it changed nothing.
+     * @param ui Prints error message to user if the step cannot be recorded.
+     * @param storage Holds the undo log of the TaskList.
+     */
+    protected void recordUndo(UndoStep step, Ui ui, Storage storage) {
+        if (step == null) {
+            return;
+        }
+        try {
+            storage.recordUndo(step);
+        } catch (IOException e) {
+            ui.printErrorForIO();
+        }
+    }
+
     void setExit() {
         isExit = true;
     }
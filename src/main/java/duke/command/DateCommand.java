@@ -1,43 +1,125 @@
 package duke.command;
 
+import duke.TaskLists;
 import duke.Ui;
 import duke.exception.InvalidDateTime;
 import duke.Storage;
+import duke.task.Task;
 import duke.task.TaskList;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Map;
 
 /**
- * Date Command class that shortlists Tasks that occur on the given date.
+ * Date Command class that shortlists Tasks that occur on the given date, or within the given range of dates.
  */
 public class DateCommand extends Command {
 
+    public static final String RANGE_DELIMITER = " /to ";
+
     LocalDate date;
+    // Last date of the range, null if only a single date is given
+    LocalDate endDate;
+    // Whether every list is searched instead of only the one in use
+    boolean isAll;
 
     /**
-     * Initialises the class with the given date to shortlist for.
+     * Initialises the class with the given date, or range of dates, to shortlist for.
      *
-     * @param dateString User input of the date, should be in format {@code yyyy-MM-dd}.
-     * @throws InvalidDateTime If the input date does not fit the above format.
+     * @param dateString User input of the date, should be in format {@code yyyy-MM-dd},
+     *     or {@code yyyy-MM-dd /to yyyy-MM-dd} for a range.
+     * @throws InvalidDateTime If the input dates do not fit the above format.
      */
     public DateCommand (String dateString) throws InvalidDateTime {
+        this(dateString, false);
+    }
+
+    /**
+     * Initialises the class with the given date, or range of dates, to shortlist for,
+     * in every list if {@code isAll} is set.
+     *
+     * @param dateString User input of the date, should be in format {@code yyyy-MM-dd},
+     *     or {@code yyyy-MM-dd /to yyyy-MM-dd} for a range.
+     * @param isAll Whether every list is searched instead of only the one in use.
+     * @throws InvalidDateTime If the input dates do not fit the above format.
+     */
+    public DateCommand (String dateString, boolean isAll) throws InvalidDateTime {
+        this.isAll = isAll;
+        int delimiter = dateString.indexOf(RANGE_DELIMITER);
         try {
-            this.date = LocalDate.parse(dateString);
+            if (delimiter < 0) {
+                this.date = LocalDate.parse(dateString.trim());
+            } else {
+                this.date = LocalDate.parse(dateString.substring(0, delimiter).trim());
+                this.endDate = LocalDate.parse(dateString.substring(delimiter + RANGE_DELIMITER.length()).trim());
+            }
         } catch (DateTimeParseException e) {
             throw new InvalidDateTime();
         }
+        if (endDate != null && endDate.isBefore(date)) {
+            LocalDate startDate = endDate;
+            endDate = date;
+            date = startDate;
+        }
     }
 
     /**
-     * Shortlists and prints Tasks from the TaskList that occur during the given date.
+     * Shortlists and prints Tasks from the TaskList that occur during the given date, or range of dates.
      *
      * @param tasks The existing TaskList.
      * @param ui Prints shortlisted Tasks to user.
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) {
-        ui.printDateList(tasks.getTasksOnDate(date), date);
+        if (isAll) {
+            ui.printListsUnavailable();
+            return;
+        }
+        printTasks(getTasks(tasks), ui);
+    }
+
+    /**
+     * Shortlists and prints Tasks that occur during the given date, or range of dates,
+     * from every list if {@code isAll} is set, with the lists searched in parallel.
+     *
+     * @param lists Every list of tasks, including the one in use.
+     * @param ui Prints shortlisted Tasks of each list to user.
+     */
+    @Override
+    public void execute(TaskLists lists, Ui ui) {
+        if (!isAll) {
+            execute(lists.getTasks(), ui, lists.getStorage());
+            return;
+        }
+        for (Map.Entry<String, ArrayList<Task>> entry : lists.queryAll(this::getTasks, ui).entrySet()) {
+            ui.printListName(entry.getKey());
+            printTasks(entry.getValue(), ui);
+        }
+    }
+
+    private ArrayList<Task> getTasks(TaskList tasks) {
+        if (endDate == null) {
+            return tasks.getTasksOnDate(date);
+        }
+        return tasks.getTasksBetweenDates(date, endDate);
+    }
+
+    private void printTasks(ArrayList<Task> happeningTasks, Ui ui) {
+        if (endDate == null) {
+            ui.printDateList(happeningTasks, date);
+        } else {
+            ui.printDateRangeList(happeningTasks, date, endDate);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 
 }
@@ -1,22 +1,49 @@
 package duke.command;
 
 import duke.Storage;
+import duke.TaskLists;
 import duke.task.TaskList;
 import duke.Ui;
 
+import java.io.IOException;
+
 /**
  * Exit Command class that allows user to exit the program.
  */
 public class ExitCommand extends Command {
 
     /**
-     * Prints exit message.
+     * Finishes any outstanding saving, and prints exit message.
      * Sets the exit status of the Command to be true.
      *
      * @param ui Prints exit message to user.
+     * @param storage Gets closed before exiting.
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) {
+        try {
+            storage.close();
+        } catch (IOException e) {
+            ui.printErrorForIO();
+        }
+        ui.printExitMessage();
+        this.setExit();
+    }
+
+    /**
+     * Finishes any outstanding saving of every loaded list, and prints exit message.
+     * Sets the exit status of the Command to be true.
+     *
+     * @param lists Every list of tasks, whose loaded lists get closed before exiting.
+     * @param ui Prints exit message to user.
+     */
+    @Override
+    public void execute(TaskLists lists, Ui ui) {
+        try {
+            lists.close();
+        } catch (IOException e) {
+            ui.printErrorForIO();
+        }
         ui.printExitMessage();
         this.setExit();
     }
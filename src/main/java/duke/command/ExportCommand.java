@@ -0,0 +1,43 @@
+package duke.command;
+
+import duke.Storage;
+import duke.Ui;
+import duke.task.TaskList;
+
+import java.io.IOException;
+
+/**
+ * Export Command class that saves a copy of the TaskList in the text save file format.
+ */
+public class ExportCommand extends Command {
+
+    public static final String DEFAULT_EXPORT_PATH = "export.txt";
+    protected String exportPath;
+
+    /**
+     * Initialises the class with the location to export to.
+     *
+     * @param exportPath User input of the location of the exported file.
+     */
+    public ExportCommand(String exportPath) {
+        this.exportPath = exportPath;
+    }
+
+    /**
+     * Writes all Tasks from the TaskList to the export location as text.
+     *
+     * @param tasks The existing TaskList.
+     * @param ui Prints success or error message to user.
+     * @param storage Writes the exported file.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        try {
+            storage.export(tasks, exportPath);
+            ui.printExported(tasks.getSize(), exportPath);
+        } catch (IOException e) {
+            ui.printErrorForIO();
+        }
+    }
+
+}
@@ -1,14 +1,21 @@
 package duke.command;
 
 import duke.Storage;
+import duke.TaskLists;
 import duke.Ui;
+import duke.task.Task;
 import duke.task.TaskList;
 
+import java.util.ArrayList;
+import java.util.Map;
+
 /**
  * Find Command class that shortlists Tasks that contain a given keyword.
  */
 public class FindCommand extends Command {
     protected String keyword;
+    // Whether every list is searched instead of only the one in use
+    protected boolean isAll;
 
     /**
      * Initialises the class with the given keyword to shortlist for.
@@ -16,7 +23,18 @@ public class FindCommand extends Command {
      * @param keyword User input of the keyword.
      */
     public FindCommand(String keyword) {
+        this(keyword, false);
+    }
+
+    /**
+     * Initialises the class with the given keyword to shortlist for, in every list if {@code isAll} is set.
+     *
+     * @param keyword User input of the keyword.
+     * @param isAll Whether every list is searched instead of only the one in use.
+     */
+    public FindCommand(String keyword, boolean isAll) {
         this.keyword = keyword;
+        this.isAll = isAll;
     }
 
     /**
@@ -27,7 +45,39 @@ public class FindCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) {
+        if (isAll) {
+            ui.printListsUnavailable();
+            return;
+        }
         ui.printFoundList(tasks.findTasks(keyword));
     }
 
+    /**
+     * Shortlists and prints Tasks that contain the given keyword, from every list if {@code isAll} is set,
+     * with the lists searched in parallel.
+     *
+     * @param lists Every list of tasks, including the one in use.
+     * @param ui Prints shortlisted Tasks of each list to user.
+     */
+    @Override
+    public void execute(TaskLists lists, Ui ui) {
+        if (!isAll) {
+            execute(lists.getTasks(), ui, lists.getStorage());
+            return;
+        }
+        for (Map.Entry<String, ArrayList<Task>> entry : lists.queryAll(tasks -> tasks.findTasks(keyword), ui)
+                .entrySet()) {
+            ui.printListName(entry.getKey());
+            ui.printFoundList(entry.getValue());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
 }
@@ -19,4 +19,12 @@ public class HelpCommand extends Command {
         ui.printHelpMessage();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
 }
@@ -1,23 +1,83 @@
 package duke.command;
 
 import duke.Storage;
+import duke.task.ListFilter;
+import duke.task.ListOrder;
 import duke.task.TaskList;
 import duke.Ui;
 
+import java.time.LocalDateTime;
+
 /**
  * List Command class that shows user a list of all the Tasks they have input.
+ * Tasks can be filtered and split into pages, and are checked and printed one at a time in a single pass,
+ * so that even a very large list starts printing without first building a shortlist.
+ * Tasks can also be sorted by date, through indexes kept sorted by the TaskList instead of sorting on every list.
  */
 public class ListCommand extends Command {
+    // Number of Tasks on each page if a page is asked for without a page size
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    // Whether the ID of each Task is shown along with its index
+    protected boolean isIdShown;
+    protected ListFilter filter;
+    protected ListOrder order;
+    // Page to be shown, starting from 1, or 0 to show every Task
+    protected int page;
+    protected int pageSize;
+
+    /**
+     * Initialises the class to list all Tasks without their IDs.
+     */
+    public ListCommand() {
+        this(false);
+    }
+
+    /**
+     * Initialises the class to list all Tasks, showing their IDs if {@code isIdShown} is set.
+     *
+     * @param isIdShown Whether the ID of each Task is shown.
+     */
+    public ListCommand(boolean isIdShown) {
+        this(ListFilter.ALL, ListOrder.INDEX, 0, DEFAULT_PAGE_SIZE, isIdShown);
+    }
 
     /**
-     * Prints out all Tasks from the TaskList.
+     * Initialises the class to list the Tasks that pass the filter in the given order,
+     * either all of them or one page of them.
+     *
+     * @param filter Which Tasks to list.
+     * @param order Order to list the Tasks in.
+     * @param page Page to be shown, starting from 1, or 0 to show every Task that passes.
+     * @param pageSize Number of Tasks on each page.
+     * @param isIdShown Whether the ID of each Task is shown.
+     */
+    public ListCommand(ListFilter filter, ListOrder order, int page, int pageSize, boolean isIdShown) {
+        this.filter = filter;
+        this.order = order;
+        this.page = page;
+        this.pageSize = pageSize;
+        this.isIdShown = isIdShown;
+    }
+
+    /**
+     * Prints out the Tasks from the TaskList that pass the filter in order, on the page asked for.
      *
      * @param tasks The existing TaskList.
      * @param ui Prints shortlisted Tasks to user.
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) {
-        ui.printList(tasks.getAllTasks());
+        ui.printList(tasks.getAllTasks(), tasks.iterateTasks(filter, order, LocalDateTime.now()), filter, order,
+                page, pageSize, isIdShown);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 
 }
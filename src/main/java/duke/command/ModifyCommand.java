@@ -1,11 +1,13 @@
 package duke.command;
 
 import duke.Storage;
+import duke.storage.UndoStep;
 import duke.task.TaskList;
 import duke.Ui;
 
 import java.io.IOException;
 import java.rmi.UnexpectedException;
+import java.util.List;
 
 import static duke.Parser.COMMAND_DELETE_WORD;
 import static duke.Parser.COMMAND_MARK_WORD;
@@ -19,6 +21,8 @@ public class ModifyCommand extends Command {
 
     protected String command;
     protected int idx;
+    // ID of the Task to be modified, looked up when the command runs, or 0 if it is given by idx
+    protected long id;
 
     /**
      * Initialises the class with the type and description of the task given in the command.
@@ -37,6 +41,18 @@ public class ModifyCommand extends Command {
         this.idx = idx;
     }
 
+    /**
+     * Initialises the class with the type of the command and the ID of the task to be modified,
+     * whose index is only looked up when the command runs.
+     *
+     * @param command Type of modification command being executed (mark, unmark, delete).
+     * @param id ID of the task to be modified.
+     */
+    public ModifyCommand(String command, long id) {
+        this.command = command;
+        this.id = id;
+    }
+
     /**
      * Executes the modification of a Task in the TaskList tasks based on data in the class.
      *
@@ -47,27 +63,46 @@ public class ModifyCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws UnexpectedException {
-        switch(command) {
-        case COMMAND_MARK_WORD:
-            tasks.markStatus(idx, true);
-            ui.printMarkDone(tasks.allTasks.get(idx));
-            break;
-        case COMMAND_UNMARK_WORD:
-            tasks.markStatus(idx, false);
-            ui.printMarkNotDone(tasks.allTasks.get(idx));
-            break;
-        case COMMAND_DELETE_WORD:
-            ui.printDeleted(tasks.allTasks.get(idx), tasks.getSize());
-            tasks.deleteTask(idx);
-            break;
-        default:
-            throw new UnexpectedException("Modifying Task");
+        int idx = this.idx;
+        if (id > 0) {
+            idx = tasks.getIndex(id);
+            if (idx < 0) {
+                ui.printUnknownId(id);
+                return;
+            }
         }
+        UndoStep step = null;
         try {
-            storage.update(tasks);
+            switch(command) {
+            case COMMAND_MARK_WORD:
+                if (!tasks.isDone(idx)) {
+                    step = UndoStep.marked(new long[] {tasks.getId(idx)}, true);
+                }
+                tasks.markStatus(idx, true);
+                ui.printMarkDone(tasks.allTasks.get(idx));
+                storage.saveMarked(tasks, idx);
+                break;
+            case COMMAND_UNMARK_WORD:
+                if (tasks.isDone(idx)) {
+                    step = UndoStep.marked(new long[] {tasks.getId(idx)}, false);
+                }
+                tasks.markStatus(idx, false);
+                ui.printMarkNotDone(tasks.allTasks.get(idx));
+                storage.saveMarked(tasks, idx);
+                break;
+            case COMMAND_DELETE_WORD:
+                step = UndoStep.deleted(new int[] {idx}, List.of(tasks.allTasks.get(idx)));
+                ui.printDeleted(tasks.allTasks.get(idx), tasks.getSize());
+                tasks.deleteTask(idx);
+                storage.saveDeleted(tasks, idx);
+                break;
+            default:
+                throw new UnexpectedException("Modifying Task");
+            }
         } catch (IOException e) {
             ui.printErrorForIO();
         }
+        recordUndo(step, ui, storage);
     }
 
 }
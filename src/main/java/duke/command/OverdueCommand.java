@@ -0,0 +1,73 @@
+package duke.command;
+
+import duke.Storage;
+import duke.TaskLists;
+import duke.Ui;
+import duke.task.TaskList;
+import duke.task.TaskMatches;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Overdue Command class that shortlists Tasks that are not done, but were due or have ended before now.
+ */
+public class OverdueCommand extends Command {
+
+    // Whether every list is searched instead of only the one in use
+    protected boolean isAll;
+
+    /**
+     * Initialises the class to shortlist overdue Tasks, in every list if {@code isAll} is set.
+     *
+     * @param isAll Whether every list is searched instead of only the one in use.
+     */
+    public OverdueCommand(boolean isAll) {
+        this.isAll = isAll;
+    }
+
+    /**
+     * Shortlists and prints Tasks from the TaskList that are overdue.
+     *
+     * @param tasks The existing TaskList.
+     * @param ui Prints shortlisted Tasks to user.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        if (isAll) {
+            ui.printListsUnavailable();
+            return;
+        }
+        ui.printOverdueList(tasks.getOverdueTasks(LocalDateTime.now()));
+    }
+
+    /**
+     * Shortlists and prints Tasks that are overdue, from every list if {@code isAll} is set,
+     * with the lists searched in parallel.
+     *
+     * @param lists Every list of tasks, including the one in use.
+     * @param ui Prints shortlisted Tasks of each list to user.
+     */
+    @Override
+    public void execute(TaskLists lists, Ui ui) {
+        if (!isAll) {
+            execute(lists.getTasks(), ui, lists.getStorage());
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, TaskMatches> entry
+                : lists.queryAll(tasks -> tasks.getOverdueTasks(now), ui).entrySet()) {
+            ui.printListName(entry.getKey());
+            ui.printOverdueList(entry.getValue());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+}
@@ -0,0 +1,31 @@
+package duke.command;
+
+import duke.Storage;
+import duke.Ui;
+import duke.metrics.Metrics;
+import duke.task.TaskList;
+
+/**
+ * Stats Command class that shows user how long each type of command has taken, and how much it has printed.
+ */
+public class StatsCommand extends Command {
+
+    /**
+     * Prints the Metrics recorded for each type of command so far.
+     *
+     * @param ui Prints the Metrics to user.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ui.printStats(Metrics.getAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+}
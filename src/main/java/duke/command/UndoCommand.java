@@ -0,0 +1,75 @@
+package duke.command;
+
+import duke.Storage;
+import duke.Ui;
+import duke.storage.UndoLog;
+import duke.storage.UndoStep;
+import duke.task.TaskList;
+
+import java.io.IOException;
+
+import static duke.Parser.COMMAND_UNDO_WORD;
+
+/**
+ * Undo and Redo Command class that reverts the latest change to the TaskList, or applies it again.
+ * Handles {@code undo} and {@code redo} commands, using the steps kept in the undo log of the list in use.
+ */
+public class UndoCommand extends Command {
+
+    protected String command;
+
+    /**
+     * Initialises the class with the type of command.
+     *
+     * @param command {@code undo} or {@code redo}.
+     */
+    public UndoCommand(String command) {
+        this.command = command;
+    }
+
+    /**
+     * Undoes or redoes the next step in the undo log.
+     * If the TaskList no longer matches the step, such as after the save file was edited by hand,
+     * nothing is changed and every step is dropped.
+     *
+     * @param tasks The TaskList of existing Tasks.
+     * @param ui Prints success or error message to user.
+     * @param storage Gets updated after the TaskList has been modified, and holds the undo log.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        UndoLog undoLog = storage.getUndoLog();
+        if (undoLog == null) {
+            ui.printUndoOff();
+            return;
+        }
+        boolean isUndo = command.equals(COMMAND_UNDO_WORD);
+        UndoStep step = isUndo ? undoLog.peekUndo() : undoLog.peekRedo();
+        if (step == null) {
+            ui.printNothingToUndo(command);
+            return;
+        }
+        // a step that fails to save has still been applied to the TaskList
+        boolean isApplied = true;
+        try {
+            isApplied = isUndo ? step.undo(tasks, storage) : step.redo(tasks, storage);
+        } catch (IOException e) {
+            ui.printErrorForIO();
+        }
+        try {
+            if (!isApplied) {
+                undoLog.clear();
+                ui.printUndoCleared();
+            } else if (isUndo) {
+                undoLog.commitUndo();
+                ui.printUndone(step.getCommandWord(), step.getCount(), tasks.getSize());
+            } else {
+                undoLog.commitRedo();
+                ui.printRedone(step.getCommandWord(), step.getCount(), tasks.getSize());
+            }
+        } catch (IOException e) {
+            ui.printErrorForIO();
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package duke.command;
+
+import duke.Storage;
+import duke.TaskLists;
+import duke.Ui;
+import duke.exception.InvalidPeriod;
+import duke.task.TaskList;
+import duke.task.TaskMatches;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Upcoming Command class that shortlists Tasks that are not done, and are due or take place within the given
+ * number of days from now.
+ */
+public class UpcomingCommand extends Command {
+
+    // Unit following the number of days
+    public static final char DAYS_UNIT = 'd';
+
+    protected int days;
+    // Whether every list is searched instead of only the one in use
+    protected boolean isAll;
+
+    /**
+     * Initialises the class with the given period to shortlist for, in every list if {@code isAll} is set.
+     *
+     * @param period User input of the period, should be a positive number of days followed by {@code d}.
+     * @param isAll Whether every list is searched instead of only the one in use.
+     * @throws InvalidPeriod If the period does not fit the above format.
+     */
+    public UpcomingCommand(String period, boolean isAll) throws InvalidPeriod {
+        this.isAll = isAll;
+        String trimmed = period.trim();
+        if (trimmed.length() < 2 || trimmed.charAt(trimmed.length() - 1) != DAYS_UNIT) {
+            throw new InvalidPeriod();
+        }
+        try {
+            this.days = Integer.parseInt(trimmed.substring(0, trimmed.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidPeriod();
+        }
+        if (days <= 0) {
+            throw new InvalidPeriod();
+        }
+    }
+
+    /**
+     * Shortlists and prints Tasks from the TaskList that are upcoming within the period.
+     *
+     * @param tasks The existing TaskList.
+     * @param ui Prints shortlisted Tasks to user.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        if (isAll) {
+            ui.printListsUnavailable();
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ui.printUpcomingList(tasks.getUpcomingTasks(now, now.plusDays(days)), days);
+    }
+
+    /**
+     * Shortlists and prints Tasks that are upcoming within the period, from every list if {@code isAll} is set,
+     * with the lists searched in parallel.
+     *
+     * @param lists Every list of tasks, including the one in use.
+     * @param ui Prints shortlisted Tasks of each list to user.
+     */
+    @Override
+    public void execute(TaskLists lists, Ui ui) {
+        if (!isAll) {
+            execute(lists.getTasks(), ui, lists.getStorage());
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime limit = now.plusDays(days);
+        for (Map.Entry<String, TaskMatches> entry
+                : lists.queryAll(tasks -> tasks.getUpcomingTasks(now, limit), ui).entrySet()) {
+            ui.printListName(entry.getKey());
+            ui.printUpcomingList(entry.getValue(), days);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+}
@@ -0,0 +1,57 @@
+package duke.command;
+
+import duke.Storage;
+import duke.TaskLists;
+import duke.Ui;
+import duke.task.TaskList;
+
+import java.io.IOException;
+
+/**
+ * Use Command class that switches to another named list of Tasks, or shows every list if no name is given.
+ */
+public class UseCommand extends Command {
+    // Name of the list to switch to, null to show every list instead
+    protected String name;
+
+    /**
+     * Initialises the class with the name of the list to switch to.
+     *
+     * @param name User input of the name, or null to show every list instead.
+     */
+    public UseCommand(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Prints that lists cannot be switched, as only a single list is available in server mode.
+     *
+     * @param ui Prints error message to user.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ui.printListsUnavailable();
+    }
+
+    /**
+     * Switches to the list with the given name, loading or creating it as needed, and prints its size.
+     * Prints the names of every list instead if no name is given.
+     *
+     * @param lists Every list of tasks, including the one in use.
+     * @param ui Prints the list in use to user.
+     */
+    @Override
+    public void execute(TaskLists lists, Ui ui) {
+        if (name == null) {
+            ui.printListNames(lists.getNames(), lists.getCurrentName());
+            return;
+        }
+        try {
+            lists.use(name, ui);
+            ui.printUsingList(name, lists.getTasks().getSize());
+        } catch (IOException e) {
+            ui.printErrorForIO();
+        }
+    }
+
+}
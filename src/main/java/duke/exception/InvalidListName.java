@@ -0,0 +1,7 @@
+package duke.exception;
+
+/**
+ * Exception class for when the name of a list cannot be used as part of a file name.
+ */
+public class InvalidListName extends Throwable{
+}
@@ -0,0 +1,7 @@
+package duke.exception;
+
+/**
+ * Exception class for when the filter, page or page size given to the list command is not in the right format.
+ */
+public class InvalidListOption extends Throwable{
+}
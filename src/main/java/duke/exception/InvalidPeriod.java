@@ -0,0 +1,7 @@
+package duke.exception;
+
+/**
+ * Exception class for when the period given to the upcoming command is not a positive number of days.
+ */
+public class InvalidPeriod extends Throwable{
+}
@@ -0,0 +1,7 @@
+package duke.exception;
+
+/**
+ * Exception class for when the tasks selected by a bulk command are not given in the right format.
+ */
+public class InvalidSelection extends Throwable{
+}
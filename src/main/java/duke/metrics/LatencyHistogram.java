@@ -0,0 +1,105 @@
+package duke.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram class that counts durations in buckets whose width grows with the duration,
+ * so that any percentile can be read back to within about 3% using a fixed amount of memory.
+ * Each power of two is split into 32 equal buckets, and durations below 32ns each get their own bucket.
+ * Durations can be recorded from several threads at once.
+ */
+public class LatencyHistogram {
+
+    // Number of bits of each duration kept exactly, which sets the number of buckets per power of two
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos Duration in nanoseconds, where negative durations are counted as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(getBucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Get the number of durations recorded.
+     *
+     * @return Number of durations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the total of all durations recorded.
+     *
+     * @return Total in nanoseconds.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Get the longest duration recorded.
+     *
+     * @return Longest duration in nanoseconds, or 0 if none have been recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the duration that the given fraction of recorded durations are no longer than.
+     *
+     * @param quantile Fraction of durations, from 0 to 1.
+     * @return Upper bound of the bucket holding the duration at that quantile, no more than the longest duration,
+     *     or 0 if none have been recorded.
+     */
+    public long getValueAtQuantile(double quantile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(getUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    private static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        long top = (bucket & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,115 @@
+package duke.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics class that records how long each stage of handling a command takes, and how much output it writes,
+ * separately for each type of command.
+ * The type of command is set on each thread as its command is parsed, so that Storage and Ui can record
+ * their stages without being told which command they are working for.
+ */
+public class Metrics {
+
+    /**
+     * Stages of handling a command that are timed.
+     */
+    public enum Stage {
+        PARSE, EXECUTE, LOAD, SAVE, RENDER;
+
+        /**
+         * Get the name of the stage as shown to the user.
+         *
+         * @return Lower-case name of the stage.
+         */
+        public String getName() {
+            return name().toLowerCase();
+        }
+    }
+
+    // Type of command for work done before any command, such as loading the save file on start-up
+    public static final String NO_COMMAND = "none";
+    // Type of command for input that could not be parsed, so that unknown words do not each get their own type
+    public static final String INVALID_COMMAND = "invalid";
+
+    private static final Map<String, CommandMetrics> commandMetrics = new ConcurrentHashMap<>();
+    // Metrics of the command being handled on each thread
+    private static final ThreadLocal<CommandMetrics> current = ThreadLocal.withInitial(() -> get(NO_COMMAND));
+
+    /**
+     * Sets the type of command being handled on this thread, which later stages are recorded against.
+     *
+     * @param command Command word, or one of {@link #NO_COMMAND} and {@link #INVALID_COMMAND}.
+     */
+    public static void setCommand(String command) {
+        current.set(get(command));
+    }
+
+    /**
+     * Records how long a stage took for the command being handled on this thread.
+     *
+     * @param stage Stage that has just finished.
+     * @param startNanos Value of {@code System.nanoTime()} when the stage started.
+     */
+    public static void record(Stage stage, long startNanos) {
+        current.get().getHistogram(stage).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Adds bytes of output written for the command being handled on this thread.
+     *
+     * @param bytes Number of bytes written.
+     */
+    public static void addBytes(long bytes) {
+        current.get().bytes.add(bytes);
+    }
+
+    /**
+     * Get the metrics of every type of command that has been handled.
+     *
+     * @return Metrics of each type of command, sorted by command word.
+     */
+    public static Map<String, CommandMetrics> getAll() {
+        return new TreeMap<>(commandMetrics);
+    }
+
+    private static CommandMetrics get(String command) {
+        return commandMetrics.computeIfAbsent(command, key -> new CommandMetrics());
+    }
+
+    /**
+     * Latencies of each stage, and bytes of output written, for one type of command.
+     */
+    public static class CommandMetrics {
+        private final LatencyHistogram[] histograms = new LatencyHistogram[Stage.values().length];
+        private final LongAdder bytes = new LongAdder();
+
+        private CommandMetrics() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+
+        /**
+         * Get the latencies recorded for a stage.
+         *
+         * @param stage Stage to get the latencies of.
+         * @return Histogram of the latencies.
+         */
+        public LatencyHistogram getHistogram(Stage stage) {
+            return histograms[stage.ordinal()];
+        }
+
+        /**
+         * Get the bytes of output written.
+         *
+         * @return Number of bytes written.
+         */
+        public long getBytes() {
+            return bytes.sum();
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package duke.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PrometheusExporter class that writes all Metrics to a file in the Prometheus text format,
+ * for a node exporter or similar to collect.
+ * The file is replaced as a whole each time, so it is never read half-written.
+ */
+public class PrometheusExporter {
+
+    // Quantiles of each latency histogram that are exported
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Path path;
+    private final Path tmpPath;
+
+    /**
+     * Initialises the exporter with the file to write to.
+     *
+     * @param path Location of the exported file.
+     */
+    public PrometheusExporter(Path path) {
+        this.path = path;
+        this.tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    /**
+     * Exports the Metrics at a fixed interval on a background thread, and once more when the process stops.
+     *
+     * @param intervalMillis Time between exports, in milliseconds.
+     */
+    public void start(long intervalMillis) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duke-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::exportQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::exportQuietly));
+    }
+
+    /**
+     * Writes the current Metrics to the file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void export() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(tmpPath, StandardCharsets.UTF_8)) {
+            write(writer, Metrics.getAll());
+        }
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (IOException e) {
+            // the next export tries again, and failing to export should never stop a command
+        }
+    }
+
+    /**
+     * Writes the given Metrics in the Prometheus text format.
+     *
+     * @param writer Destination of the exported text.
+     * @param allMetrics Metrics of each type of command.
+     * @throws IOException If something goes wrong while writing.
+     */
+    public static void write(Writer writer, Map<String, Metrics.CommandMetrics> allMetrics) throws IOException {
+        writer.write("# HELP duke_latency_seconds Time taken by each stage of handling each type of command.\n");
+        writer.write("# TYPE duke_latency_seconds summary\n");
+        for (Map.Entry<String, Metrics.CommandMetrics> entry : allMetrics.entrySet()) {
+            for (Metrics.Stage stage : Metrics.Stage.values()) {
+                LatencyHistogram histogram = entry.getValue().getHistogram(stage);
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                String labels = "command=\"" + entry.getKey() + "\",stage=\"" + stage.getName() + "\"";
+                for (double quantile : QUANTILES) {
+                    writer.write("duke_latency_seconds{" + labels + ",quantile=\"" + quantile + "\"} "
+                            + toSeconds(histogram.getValueAtQuantile(quantile)) + "\n");
+                }
+                writer.write("duke_latency_seconds_sum{" + labels + "} " + toSeconds(histogram.getSum()) + "\n");
+                writer.write("duke_latency_seconds_count{" + labels + "} " + histogram.getCount() + "\n");
+            }
+        }
+        writer.write("# HELP duke_output_bytes_total Bytes of output written to the user for each type of command.\n");
+        writer.write("# TYPE duke_output_bytes_total counter\n");
+        for (Map.Entry<String, Metrics.CommandMetrics> entry : allMetrics.entrySet()) {
+            writer.write("duke_output_bytes_total{command=\"" + entry.getKey() + "\"} "
+                    + entry.getValue().getBytes() + "\n");
+        }
+    }
+
+    private static String toSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / NANOS_PER_SECOND);
+    }
+
+}
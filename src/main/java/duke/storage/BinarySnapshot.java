@@ -0,0 +1,390 @@
+package duke.storage;
+
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.LazyTaskList;
+import duke.task.Task;
+import duke.task.ToDo;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * BinarySnapshot class that saves the task list in a binary format,
+ * which is read through a memory-mapped buffer without any text parsing.
+ */
+public class BinarySnapshot {
+    /*
+    The binary save file is laid out as:
+        header          magic, version, record size, task count, string count, positions of the string table,
+                        ID to give the next Task added
+        records         one fixed-size record per Task, in order
+        string offsets  (string count + 1) ints, each the start of a string within the string data
+        string data     UTF-8 bytes of every distinct description and unparsed date
+
+    Each record is laid out as:
+        [type] [status] [padding] [description] [by / from] [to] [unparsed by / from] [unparsed to] [id]
+    where dates are seconds since the epoch in UTC (NO_DATE if the date could not be parsed),
+    and descriptions and unparsed dates are indices into the string table (NO_STRING if unused).
+    Version 1 records have no [id], and their Tasks are given IDs in order starting from 1.
+    Version 1 and 2 headers have no next ID, so the next Task is given the ID after the last one in the file.
+    */
+
+    // "DUKE" in ASCII, marks the start of a binary save file
+    public static final int MAGIC = 0x44554B45;
+    private static final short VERSION = 3;
+    private static final short VERSION_WITHOUT_NEXT_ID = 2;
+    private static final short VERSION_WITHOUT_IDS = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int HEADER_SIZE_WITHOUT_NEXT_ID = 32;
+    private static final int RECORD_SIZE = 40;
+    private static final int RECORD_SIZE_WITHOUT_IDS = 32;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NO_STRING = -1;
+    // bytes representing type of Tasks within the records
+    private static final byte TODO_TYPE = 'T';
+    private static final byte DEADLINE_TYPE = 'D';
+    private static final byte EVENT_TYPE = 'E';
+
+    /**
+     * Checks if the file at the given location is a binary save file.
+     *
+     * @param path Location of the save file.
+     * @return {@code true} if the file starts with the binary header, {@code false} otherwise.
+     * @throws IOException If the file exists but cannot be read.
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        byte[] start = new byte[4];
+        try (InputStream in = Files.newInputStream(path)) {
+            if (in.readNBytes(start, 0, 4) < 4) {
+                return false;
+            }
+        }
+        int magic = ((start[0] & 0xFF) << 24) | ((start[1] & 0xFF) << 16) | ((start[2] & 0xFF) << 8) | (start[3] & 0xFF);
+        return magic == MAGIC;
+    }
+
+    /**
+     * Writes the Tasks in the binary format.
+     * Dates are stored to the second.
+     *
+     * @param out Destination of the save file contents.
+     * @param allTasks Tasks to be written.
+     * @param doneFlags Status of each Task to be written instead of its current status, or null.
+     * @param nextId ID to give the next Task added.
+     * @throws IOException If something goes wrong while writing.
+     */
+    public static void write(OutputStream out, List<Task> allTasks, boolean[] doneFlags, long nextId)
+            throws IOException {
+        StringTable strings = new StringTable();
+        int count = allTasks.size();
+        int[] descIdx = new int[count];
+        int[] firstStringIdx = new int[count];
+        int[] secondStringIdx = new int[count];
+        for (int i = 0; i < count; i++) {
+            Task task = allTasks.get(i);
+            descIdx[i] = strings.add(task.getDescription());
+            firstStringIdx[i] = NO_STRING;
+            secondStringIdx[i] = NO_STRING;
+            if (task instanceof Deadline) {
+                Deadline deadline = (Deadline) task;
+                if (deadline.getByDateTime() == null) {
+                    firstStringIdx[i] = strings.add(deadline.getBy(Task.storePattern));
+                }
+            } else if (task instanceof Event) {
+                Event event = (Event) task;
+                if (event.getFromDateTime() == null) {
+                    firstStringIdx[i] = strings.add(event.getFrom(Task.storePattern));
+                }
+                if (event.getToDateTime() == null) {
+                    secondStringIdx[i] = strings.add(event.getTo(Task.storePattern));
+                }
+            }
+        }
+
+        long offsetsPos = HEADER_SIZE + (long) RECORD_SIZE * count;
+        long dataPos = offsetsPos + 4L * (strings.size() + 1);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(RECORD_SIZE);
+        data.writeInt(count);
+        data.writeInt(strings.size());
+        data.writeLong(offsetsPos);
+        data.writeLong(dataPos);
+        data.writeLong(nextId);
+
+        for (int i = 0; i < count; i++) {
+            Task task = allTasks.get(i);
+            boolean isDone = (doneFlags == null) ? task.isDone() : doneFlags[i];
+            long first = NO_DATE;
+            long second = NO_DATE;
+            byte type = TODO_TYPE;
+            if (task instanceof Deadline) {
+                type = DEADLINE_TYPE;
+                first = toEpochSecond(((Deadline) task).getByDateTime());
+            } else if (task instanceof Event) {
+                type = EVENT_TYPE;
+                first = toEpochSecond(((Event) task).getFromDateTime());
+                second = toEpochSecond(((Event) task).getToDateTime());
+            }
+            data.writeByte(type);
+            data.writeByte(isDone ? 1 : 0);
+            data.writeShort(0);
+            data.writeInt(descIdx[i]);
+            data.writeLong(first);
+            data.writeLong(second);
+            data.writeInt(firstStringIdx[i]);
+            data.writeInt(secondStringIdx[i]);
+            data.writeLong(task.getId());
+        }
+
+        int offset = 0;
+        for (byte[] bytes : strings.encoded) {
+            data.writeInt(offset);
+            offset += bytes.length;
+        }
+        data.writeInt(offset);
+        for (byte[] bytes : strings.encoded) {
+            data.write(bytes);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads all Tasks from a binary save file through the memory-mapped buffer of its index.
+     *
+     * @param index Index of the records in the save file, as returned by {@link #open(Path)}.
+     * @return ArrayList of Tasks in the save file.
+     * @throws IOException If the file is not a valid binary save file.
+     */
+    public static ArrayList<Task> read(Index index) throws IOException {
+        try {
+            String[] strings = new String[index.stringCount];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = index.readString(i);
+            }
+            ArrayList<Task> allTasks = new ArrayList<>(index.count);
+            for (int i = 0; i < index.count; i++) {
+                Task task = readTask(index.buffer, index.getRecordPos(i), idx -> strings[idx]);
+                if (task == null) {
+                    throw new IOException("Unknown task type in binary save file");
+                }
+                task.setDone(index.isDone(i));
+                task.setId(index.getId(i));
+                allTasks.add(task);
+            }
+            return allTasks;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Binary save file is truncated", e);
+        }
+    }
+
+    /**
+     * Maps a binary save file into memory and checks its header,
+     * so that its Tasks can be built only when they are accessed.
+     *
+     * @param path Location of the save file.
+     * @return Index of the records in the save file.
+     * @throws IOException If the file cannot be mapped, or is not a valid binary save file.
+     */
+    public static Index open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary save file is too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            short version = (buffer.limit() >= HEADER_SIZE_WITHOUT_NEXT_ID) ? buffer.getShort(4) : 0;
+            int headerSize = (version == VERSION) ? HEADER_SIZE : HEADER_SIZE_WITHOUT_NEXT_ID;
+            boolean isValidHeader = buffer.limit() >= headerSize && buffer.getInt(0) == MAGIC
+                    && (((version == VERSION || version == VERSION_WITHOUT_NEXT_ID)
+                    && buffer.getShort(6) == RECORD_SIZE)
+                    || (version == VERSION_WITHOUT_IDS && buffer.getShort(6) == RECORD_SIZE_WITHOUT_IDS));
+            if (!isValidHeader) {
+                throw new IOException("Not a binary save file: " + path);
+            }
+            Index index = new Index(buffer);
+            if (index.dataPos > buffer.limit()
+                    || index.offsetsPos < index.headerSize + (long) index.recordSize * index.count) {
+                throw new IOException("Binary save file is truncated: " + path);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Builds the Task in the record at the given position.
+     *
+     * @param buffer Contents of the binary save file.
+     * @param pos Position of the record.
+     * @param strings Gets a string from the string table by its index.
+     * @return Task described by the record, not yet set as done, or null if its type is unknown.
+     */
+    private static Task readTask(ByteBuffer buffer, int pos, IntFunction<String> strings) {
+        String desc = strings.apply(buffer.getInt(pos + 4));
+        LocalDateTime first = toDateTime(buffer.getLong(pos + 8));
+        LocalDateTime second = toDateTime(buffer.getLong(pos + 16));
+        int firstStringIdx = buffer.getInt(pos + 24);
+        int secondStringIdx = buffer.getInt(pos + 28);
+        String firstString = (firstStringIdx == NO_STRING) ? null : strings.apply(firstStringIdx);
+        String secondString = (secondStringIdx == NO_STRING) ? null : strings.apply(secondStringIdx);
+        switch (buffer.get(pos)) {
+        case TODO_TYPE:
+            return new ToDo(desc);
+        case DEADLINE_TYPE:
+            return new Deadline(desc, first, firstString);
+        case EVENT_TYPE:
+            return new Event(desc, first, firstString, second, secondString);
+        default:
+            return null;
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime date) {
+        return (date == null) ? NO_DATE : date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return (epochSecond == NO_DATE) ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Records of a memory-mapped binary save file, from which Tasks are built one at a time.
+     */
+    public static class Index implements LazyTaskList.Source {
+        // Contents of the save file, mapped until they are copied to the heap
+        private ByteBuffer buffer;
+        private final boolean hasIds;
+        private final int headerSize;
+        private final int recordSize;
+        private final int count;
+        private final int stringCount;
+        private final int offsetsPos;
+        private final int dataPos;
+        // ID to give the next Task added, or 0 if the file does not record it
+        private final long nextId;
+
+        private Index(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.hasIds = buffer.getShort(4) != VERSION_WITHOUT_IDS;
+            this.headerSize = (buffer.getShort(4) == VERSION) ? HEADER_SIZE : HEADER_SIZE_WITHOUT_NEXT_ID;
+            this.recordSize = buffer.getShort(6);
+            this.count = buffer.getInt(8);
+            this.stringCount = buffer.getInt(12);
+            this.offsetsPos = (int) buffer.getLong(16);
+            this.dataPos = (int) buffer.getLong(24);
+            this.nextId = (buffer.getShort(4) == VERSION) ? buffer.getLong(HEADER_SIZE_WITHOUT_NEXT_ID) : 0;
+        }
+
+        /**
+         * Get the ID to give the next Task added, as recorded in the save file.
+         *
+         * @return Next ID, or 0 if the file does not record it.
+         */
+        public long getNextId() {
+            return nextId;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return count;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isDone(int idx) {
+            return buffer.get(getRecordPos(idx) + 1) != 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getId(int idx) {
+            return hasIds ? buffer.getLong(getRecordPos(idx) + RECORD_SIZE_WITHOUT_IDS) : idx + 1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void copyToHeap() {
+            if (buffer instanceof MappedByteBuffer) {
+                buffer = MappedFiles.copyAndUnmap((MappedByteBuffer) buffer);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Task load(int idx) {
+            Task task = readTask(buffer, getRecordPos(idx), this::readString);
+            if (task == null) {
+                throw new IllegalStateException("Unknown task type in binary save file");
+            }
+            task.setId(getId(idx));
+            return task;
+        }
+
+        private int getRecordPos(int idx) {
+            return headerSize + recordSize * idx;
+        }
+
+        private String readString(int idx) {
+            int start = buffer.getInt(offsetsPos + 4 * idx);
+            int end = buffer.getInt(offsetsPos + 4 * (idx + 1));
+            byte[] bytes = new byte[end - start];
+            ByteBuffer data = buffer.duplicate();
+            data.position(dataPos + start);
+            data.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Distinct strings in the order they were first added, each encoded once.
+     */
+    private static class StringTable {
+        private final HashMap<String, Integer> indices = new HashMap<>();
+        private final ArrayList<byte[]> encoded = new ArrayList<>();
+
+        private int add(String string) {
+            Integer idx = indices.get(string);
+            if (idx == null) {
+                idx = encoded.size();
+                indices.put(string, idx);
+                encoded.add(string.getBytes(StandardCharsets.UTF_8));
+            }
+            return idx;
+        }
+
+        private int size() {
+            return encoded.size();
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package duke.storage;
+
+/**
+ * How often batched writes to the save file are forced onto the hard disk.
+ */
+public enum FsyncPolicy {
+    // every batch is synced before the commands that wrote it continue
+    ALWAYS,
+    // batches are synced at most once per interval, in the background
+    INTERVAL,
+    // batches are left for the operating system to write out
+    NEVER
+}
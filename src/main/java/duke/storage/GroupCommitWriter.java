@@ -0,0 +1,269 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GroupCommitWriter class that writes records to a Target on a background thread.
+ * Records that arrive within a short window of each other are written and synced together,
+ * so that commands only wait on the hard disk under the {@code ALWAYS} policy.
+ *
+ * @param <T> Type of records written.
+ */
+public class GroupCommitWriter<T> {
+
+    // Time in milliseconds to wait for more records before writing a batch
+    private static final long WINDOW_MILLIS = Long.getLong("duke.commit.window", 5);
+    // Time in milliseconds between syncs under the INTERVAL policy
+    private static final long SYNC_INTERVAL_MILLIS = Long.getLong("duke.fsync.interval", 1000);
+
+    private final Target<T> target;
+    private final FsyncPolicy policy;
+    private final Thread thread;
+    private final Object lock = new Object();
+
+    // Entries that have been submitted but not yet written, guarded by lock
+    private ArrayList<Entry<T>> pending = new ArrayList<>();
+    // Running counts of entries, guarded by lock
+    private long submittedCount;
+    private long writtenCount;
+    private long syncedCount;
+    private long syncRequestedCount;
+    private boolean isClosed;
+    private IOException failure;
+
+    /**
+     * Initialises the writer and starts its background thread.
+     *
+     * @param target Where batches of records are written to.
+     * @param policy How often batches are synced to the hard disk.
+     * @param name Name of the background thread.
+     */
+    public GroupCommitWriter(Target<T> target, FsyncPolicy policy, String name) {
+        this.target = target;
+        this.policy = policy;
+        this.thread = new Thread(this::writeLoop, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Submits a record to be written.
+     * Under the {@code ALWAYS} policy, waits until the record has been synced.
+     *
+     * @param record Record to be written.
+     * @throws IOException If an earlier batch could not be written.
+     */
+    public void append(T record) throws IOException {
+        long count = submit(new Entry<>(record, null));
+        if (policy == FsyncPolicy.ALWAYS) {
+            waitUntilSynced(count);
+        }
+    }
+
+    /**
+     * Submits an action that runs on the background thread,
+     * after every record submitted before it has been written.
+     *
+     * @param action Action to be run, such as rotating the file being written to.
+     * @throws IOException If an earlier batch could not be written.
+     */
+    public void run(Action action) throws IOException {
+        submit(new Entry<>(null, action));
+    }
+
+    /**
+     * Waits until every record submitted so far has been written,
+     * and synced unless the policy is {@code NEVER}.
+     *
+     * @throws IOException If a batch could not be written.
+     */
+    public void flush() throws IOException {
+        long count;
+        synchronized (lock) {
+            count = submittedCount;
+            syncRequestedCount = Math.max(syncRequestedCount, count);
+            lock.notifyAll();
+        }
+        waitUntilSynced(count);
+    }
+
+    /**
+     * Flushes every record submitted so far, then stops the background thread.
+     *
+     * @throws IOException If a batch could not be written.
+     */
+    public void close() throws IOException {
+        flush();
+        synchronized (lock) {
+            isClosed = true;
+            lock.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private long submit(Entry<T> entry) throws IOException {
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (isClosed) {
+                throw new IOException("Writer has been closed");
+            }
+            pending.add(entry);
+            submittedCount++;
+            lock.notifyAll();
+            return submittedCount;
+        }
+    }
+
+    private void waitUntilSynced(long count) throws IOException {
+        synchronized (lock) {
+            while (syncedCount < count && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Repeatedly waits for entries, lets more gather for the window, then writes them as one batch.
+     * Runs on the background thread until the writer is closed or a batch fails.
+     */
+    private void writeLoop() {
+        long lastSyncTime = System.nanoTime();
+        try {
+            while (true) {
+                boolean hasPending;
+                synchronized (lock) {
+                    while (!hasWork(lastSyncTime)) {
+                        if (isClosed) {
+                            return;
+                        }
+                        lock.wait(getWaitMillis(lastSyncTime));
+                    }
+                    hasPending = !pending.isEmpty();
+                }
+                if (hasPending && WINDOW_MILLIS > 0) {
+                    Thread.sleep(WINDOW_MILLIS);
+                }
+
+                ArrayList<Entry<T>> batch;
+                long batchCount;
+                boolean isSyncing;
+                synchronized (lock) {
+                    batch = pending;
+                    pending = new ArrayList<>();
+                    batchCount = submittedCount;
+                    isSyncing = policy == FsyncPolicy.ALWAYS || syncRequestedCount > syncedCount
+                            || isIntervalSyncDue(lastSyncTime);
+                }
+                writeBatch(batch);
+                target.flush(isSyncing && policy != FsyncPolicy.NEVER);
+                if (isSyncing) {
+                    lastSyncTime = System.nanoTime();
+                }
+                synchronized (lock) {
+                    writtenCount = batchCount;
+                    if (isSyncing || policy == FsyncPolicy.NEVER) {
+                        syncedCount = batchCount;
+                    }
+                    lock.notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+                lock.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            synchronized (lock) {
+                failure = new IOException(e);
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes the records in a batch in order, running each action once the records before it are written.
+     *
+     * @param batch Entries to be written.
+     * @throws IOException If the records cannot be written, or an action fails.
+     */
+    private void writeBatch(List<Entry<T>> batch) throws IOException {
+        ArrayList<T> records = new ArrayList<>();
+        for (Entry<T> entry : batch) {
+            if (entry.action == null) {
+                records.add(entry.record);
+                continue;
+            }
+            target.write(records);
+            records.clear();
+            entry.action.run();
+        }
+        target.write(records);
+    }
+
+    private boolean hasWork(long lastSyncTime) {
+        return !pending.isEmpty() || syncRequestedCount > syncedCount || isIntervalSyncDue(lastSyncTime);
+    }
+
+    private boolean isIntervalSyncDue(long lastSyncTime) {
+        boolean hasUnsynced = writtenCount > syncedCount;
+        long elapsedMillis = (System.nanoTime() - lastSyncTime) / 1_000_000;
+        return policy == FsyncPolicy.INTERVAL && hasUnsynced && elapsedMillis >= SYNC_INTERVAL_MILLIS;
+    }
+
+    private long getWaitMillis(long lastSyncTime) {
+        if (policy != FsyncPolicy.INTERVAL || writtenCount == syncedCount) {
+            return 0;
+        }
+        long elapsedMillis = (System.nanoTime() - lastSyncTime) / 1_000_000;
+        return Math.max(1, SYNC_INTERVAL_MILLIS - elapsedMillis);
+    }
+
+    /**
+     * A record to be written, or an action to be run between records.
+     */
+    private static class Entry<T> {
+        private final T record;
+        private final Action action;
+
+        private Entry(T record, Action action) {
+            this.record = record;
+            this.action = action;
+        }
+    }
+
+    /**
+     * File that batches of records are written to.
+     *
+     * @param <T> Type of records written.
+     */
+    public interface Target<T> {
+        void write(List<T> records) throws IOException;
+
+        void flush(boolean isSync) throws IOException;
+    }
+
+    /**
+     * Work that must happen on the background thread, in order with the records.
+     */
+    public interface Action {
+        void run() throws IOException;
+    }
+
+}
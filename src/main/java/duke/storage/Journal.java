@@ -0,0 +1,237 @@
+package duke.storage;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal class that appends one record per TaskList mutation to a write-ahead log,
+ * so that a single change does not require the whole save file to be rewritten.
+ * As a Target, each batch of records is appended with a single flush.
+ */
+public class Journal implements GroupCommitWriter.Target<String> {
+    /*
+    Each mutation is saved as a line in the journal in this format:
+        + [save file line]          for added Tasks
+        M [idx]                     for Tasks marked as done
+        U [idx]                     for Tasks marked as not done
+        - [idx]                     for deleted Tasks
+        I [idx] [save file line]    for deleted Tasks put back at [idx], such as by an undo
+    where [idx] is the position of the Task (starting from 0) when the record was written.
+
+    Compaction happens in this order, so that a crash at any point can be recovered from:
+        1. the journal is moved aside to [journal].old and a new journal is started
+        2. the snapshot is written to [save].tmp
+        3. [journal].old is renamed to [journal].applied, marking [save].tmp as complete
+        4. [save].tmp replaces the save file
+        5. [journal].applied is deleted
+    */
+
+    // chars representing type of records within the journal
+    public static final char ADD_RECORD = '+';
+    public static final char MARK_RECORD = 'M';
+    public static final char UNMARK_RECORD = 'U';
+    public static final char DELETE_RECORD = '-';
+    public static final char INSERT_RECORD = 'I';
+    // int indicating position of the record's parameter in each line of the journal
+    public static final int PARAM_POS = 2;
+    // Appended to the location of the save file to get the location of the journal
+    public static final String JOURNAL_SUFFIX = ".journal";
+
+    private final SaveFile saveFile;
+    private final Path journalPath;
+    private final Path oldPath;
+    private final Path appliedPath;
+    private FileOutputStream out;
+    private Writer writer;
+    // Written by the thread appending records, read by the thread deciding when to compact
+    private volatile long size;
+
+    /**
+     * Initialises the Journal kept alongside the given save file.
+     *
+     * @param filePath Location of the local save file.
+     */
+    public Journal(String filePath) {
+        this.saveFile = new SaveFile(filePath);
+        this.journalPath = Paths.get(filePath + JOURNAL_SUFFIX);
+        this.oldPath = Paths.get(filePath + JOURNAL_SUFFIX + ".old");
+        this.appliedPath = Paths.get(filePath + JOURNAL_SUFFIX + ".applied");
+    }
+
+    /**
+     * Get the number of bytes appended to the journal since it was last rotated.
+     * Bytes are counted as they are encoded, so records still held in the buffer are only counted once flushed.
+     *
+     * @return Size of the journal in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Appends a single record to the end of the journal.
+     *
+     * @param record Line describing one mutation of the TaskList.
+     * @throws IOException If the journal cannot be written to.
+     */
+    public void append(String record) throws IOException {
+        write(List.of(record));
+        flush(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(List<String> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (writer == null) {
+            out = new FileOutputStream(journalPath.toFile(), true);
+            size = Files.size(journalPath);
+            writer = new BufferedWriter(new OutputStreamWriter(new CountingStream(out), StandardCharsets.UTF_8));
+        }
+        for (String record : records) {
+            writer.write(record);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush(boolean isSync) throws IOException {
+        if (writer == null) {
+            return;
+        }
+        writer.flush();
+        if (isSync) {
+            out.getFD().sync();
+        }
+    }
+
+    /**
+     * Moves the current journal aside so that it can be folded into a snapshot,
+     * and starts a new, empty journal for the records that follow.
+     * Records from an unfinished compaction are kept ahead of the current ones.
+     *
+     * @throws IOException If the journal cannot be moved.
+     */
+    public void rotate() throws IOException {
+        close();
+        if (Files.exists(journalPath)) {
+            if (Files.exists(oldPath)) {
+                // an earlier compaction never finished, so its records must be kept too
+                Files.write(oldPath, Files.readAllBytes(journalPath), StandardOpenOption.APPEND);
+                Files.delete(journalPath);
+            } else {
+                Files.move(journalPath, oldPath);
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Writes a snapshot of the TaskList as it was when the journal was last rotated,
+     * then replaces the save file with it and discards the rotated journal.
+     *
+     * @param snapshot Writes the contents of the new save file.
+     * @throws IOException If the snapshot cannot be written or moved into place.
+     */
+    public void compact(SaveFile.Snapshot snapshot) throws IOException {
+        saveFile.writeTmp(snapshot, true);
+        if (Files.exists(oldPath)) {
+            Files.move(oldPath, appliedPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        saveFile.replaceWithTmp();
+        Files.deleteIfExists(appliedPath);
+    }
+
+    /**
+     * Finishes any compaction that was interrupted, then reads all records that
+     * have not yet been folded into the save file, in the order they were written.
+     *
+     * @return Records to be replayed on top of the save file.
+     * @throws IOException If the journal cannot be read.
+     */
+    public List<String> recover() throws IOException {
+        if (Files.exists(appliedPath)) {
+            if (saveFile.hasTmp()) {
+                saveFile.replaceWithTmp();
+            }
+            Files.delete(appliedPath);
+        }
+        saveFile.deleteTmp();
+        List<String> records = new ArrayList<>();
+        if (Files.exists(oldPath)) {
+            records.addAll(Files.readAllLines(oldPath, StandardCharsets.UTF_8));
+        }
+        if (Files.exists(journalPath)) {
+            records.addAll(Files.readAllLines(journalPath, StandardCharsets.UTF_8));
+        }
+        return records;
+    }
+
+    /**
+     * Deletes the journal, once the save file already includes all of its records.
+     *
+     * @throws IOException If the journal cannot be deleted.
+     */
+    public void discard() throws IOException {
+        close();
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(oldPath);
+        size = 0;
+    }
+
+    /**
+     * Closes the journal file, if it is open.
+     *
+     * @throws IOException If the journal cannot be closed.
+     */
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            out = null;
+        }
+    }
+
+    /**
+     * Passes the encoded records on to the journal file, adding the number of bytes written to its size.
+     */
+    private class CountingStream extends FilterOutputStream {
+
+        private CountingStream(OutputStream file) {
+            super(file);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            size += len;
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package duke.storage;
+
+/**
+ * How Tasks are built from the save file when it is loaded.
+ */
+public enum LoadMode {
+    // every line is parsed into a Task before the first command
+    EAGER,
+    // the save file is only indexed, and each Task is built the first time it is accessed
+    LAZY,
+    // every line is parsed before the first command, with chunks of a text save file parsed in parallel
+    PARALLEL
+}
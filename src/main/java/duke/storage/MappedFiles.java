@@ -0,0 +1,61 @@
+package duke.storage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * MappedFiles class that moves the contents of a memory-mapped save file onto the heap.
+ * Some systems, such as Windows, do not allow a file to be replaced while it is mapped, and Java only unmaps a file
+ * once its buffer is garbage collected, so the mapping is dropped explicitly where the JDK allows it.
+ */
+final class MappedFiles {
+
+    // Unmaps a buffer straight away, null if the JDK does not allow it, in which case it is left to the collector
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the mapping is then only dropped once the buffer is garbage collected
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private MappedFiles() {
+    }
+
+    /**
+     * Copies the mapped contents to a buffer on the heap, then unmaps them.
+     * The mapped buffer, and any buffer sharing its contents, must not be used afterwards.
+     *
+     * @param mapped Contents of the mapped file.
+     * @return Copy of the contents, with the same limit.
+     */
+    static ByteBuffer copyAndUnmap(MappedByteBuffer mapped) {
+        ByteBuffer copy = ByteBuffer.allocate(mapped.limit());
+        copy.put(mapped.duplicate().clear());
+        copy.clear();
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, mapped);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // left to the collector, as if the JDK did not allow it
+            }
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,190 @@
+package duke.storage;
+
+import duke.Tokenizer;
+import duke.exception.InvalidSaveFile;
+import duke.task.Task;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelTextReader class that reads a text save file by splitting it into chunks of whole lines,
+ * which are parsed in parallel on the common fork-join pool and merged back in order.
+ * The ID of each Task depends on the line before it, so IDs are resolved as the chunks are merged,
+ * along with the counters of invalid lines, giving the same Tasks and counters as reading the file line by line.
+ */
+public class ParallelTextReader {
+
+    // Fewest bytes in a chunk, so that small files are not split into chunks too small to be worth parsing apart
+    private static final int MIN_CHUNK_SIZE = 1 << 18;
+    // Chunks for each thread of the pool, so that threads that finish early can take on the rest
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ArrayList<Task> tasks = new ArrayList<>();
+    // Counters of invalid lines, as reported when loading the save file
+    private final List<Integer> invalidCounters = new ArrayList<>();
+    // ID to give the next Task added, as recorded in the first line, or 0 if the file does not record it
+    private long nextId;
+
+    private ParallelTextReader() {
+    }
+
+    /**
+     * Reads every line of the save file into a Task, skipping invalid lines.
+     *
+     * @param path Location of the save file.
+     * @return Tasks read from the file, and the counters of invalid lines.
+     * @throws IOException If the file cannot be read.
+     */
+    public static ParallelTextReader read(Path path) throws IOException {
+        ParallelTextReader reader = new ParallelTextReader();
+        reader.readChunks(Files.readAllBytes(path));
+        return reader;
+    }
+
+    /**
+     * Get the Tasks read from every valid line, in order.
+     *
+     * @return Tasks read from the file.
+     */
+    public ArrayList<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Get the ID to give the next Task added, as recorded in the save file.
+     *
+     * @return Next ID, or 0 if the file does not record it.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Get the counters of lines that were excluded for being invalid.
+     *
+     * @return Counters in the same form as passed to {@code Ui.printInvalidSaveFile}.
+     */
+    public List<Integer> getInvalidCounters() {
+        return invalidCounters;
+    }
+
+    /**
+     * Reads the next ID from the first line if it records one, then splits the rest of the bytes into chunks
+     * that each end after a newline, forks a task to parse each one,
+     * then merges the results of each chunk in order as they are joined.
+     */
+    private void readChunks(byte[] bytes) {
+        int contentEnd = findContentEnd(bytes);
+        int start = 0;
+        int headerEnd = findLineStart(bytes, 0, 0, contentEnd);
+        int headerLineEnd = (headerEnd > 0 && bytes[headerEnd - 1] == '\n') ? headerEnd - 1 : headerEnd;
+        if (headerLineEnd > 0 && bytes[headerLineEnd - 1] == '\r') {
+            headerLineEnd--;
+        }
+        // decoded a byte at a time, as the header is ASCII and positions must stay the same
+        nextId = TextFormat.parseNextId(new String(bytes, 0, headerLineEnd, StandardCharsets.ISO_8859_1),
+                0, headerLineEnd);
+        if (nextId > 0) {
+            start = headerEnd;
+        }
+        int chunkCount = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD,
+                (contentEnd - start) / MIN_CHUNK_SIZE));
+        List<ChunkParser> chunks = new ArrayList<>();
+        int chunksStart = start;
+        for (int c = 1; c <= chunkCount && start < contentEnd; c++) {
+            int target = chunksStart + (int) ((long) (contentEnd - chunksStart) * c / chunkCount);
+            int end = (c == chunkCount) ? contentEnd : findLineStart(bytes, target, start, contentEnd);
+            chunks.add(new ChunkParser(bytes, start, end));
+            start = end;
+        }
+        for (ChunkParser chunk : chunks) {
+            chunk.fork();
+        }
+        long lastId = 0;
+        for (ChunkParser chunk : chunks) {
+            for (Task task : chunk.join()) {
+                long id = (task == null) ? -1 : TextFormat.resolveId(task.getId(), lastId);
+                if (id < 0) {
+                    invalidCounters.add(tasks.size());
+                    continue;
+                }
+                task.setId(id);
+                lastId = id;
+                tasks.add(task);
+            }
+        }
+    }
+
+    /**
+     * Finds the end of the last line that is not blank, as whitespace after it is never read as a line.
+     */
+    private static int findContentEnd(byte[] bytes) {
+        int end = bytes.length;
+        while (end > 0 && Tokenizer.isWhitespace((char) bytes[end - 1])) {
+            end--;
+        }
+        while (end > 0 && end < bytes.length && bytes[end] != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Finds the start of the first line after the given position, but no earlier than {@code from}.
+     */
+    private static int findLineStart(byte[] bytes, int pos, int from, int end) {
+        int lineStart = Math.max(pos, from);
+        while (lineStart < end && bytes[lineStart] != '\n') {
+            lineStart++;
+        }
+        return Math.min(lineStart + 1, end);
+    }
+
+    /**
+     * Parses each line of a chunk of the save file, with null in place of each invalid line.
+     * IDs are left as read from each line, for the chunks to be resolved in order once merged.
+     */
+    private static class ChunkParser extends RecursiveTask<List<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] bytes;
+        private final int start;
+        private final int end;
+
+        private ChunkParser(byte[] bytes, int start, int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            String text = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            List<Task> parsed = new ArrayList<>();
+            int lineStart = 0;
+            while (lineStart < text.length()) {
+                int lineEnd = text.indexOf('\n', lineStart);
+                lineEnd = (lineEnd < 0) ? text.length() : lineEnd;
+                int next = lineEnd + 1;
+                if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                try {
+                    parsed.add(TextFormat.parseLine(text.substring(lineStart, lineEnd)));
+                } catch (InvalidSaveFile e) {
+                    parsed.add(null);
+                }
+                lineStart = next;
+            }
+            return parsed;
+        }
+    }
+
+}
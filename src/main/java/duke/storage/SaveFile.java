@@ -0,0 +1,173 @@
+package duke.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * SaveFile class that replaces the save file as a whole, by writing to a temporary file first
+ * and then moving it into place, so that the save file is never left half-written.
+ * As a Target, only the latest snapshot in each batch is written.
+ */
+public class SaveFile implements GroupCommitWriter.Target<SaveFile.Snapshot> {
+
+    private final Path path;
+    private final Path tmpPath;
+    // Latest snapshot that has not been written yet
+    private Snapshot latest;
+    // Whether the save file was replaced without being synced, so that a later sync still reaches the hard disk
+    private boolean isUnsynced;
+
+    /**
+     * Initialises the SaveFile at the given location.
+     *
+     * @param filePath Location of the local save file.
+     */
+    public SaveFile(String filePath) {
+        this.path = Paths.get(filePath);
+        this.tmpPath = Paths.get(filePath + ".tmp");
+    }
+
+    /**
+     * Writes new contents to the temporary file.
+     *
+     * @param snapshot Writes the contents of the new save file.
+     * @param isSync Whether the temporary file should be synced to the hard disk.
+     * @throws IOException If the temporary file cannot be written.
+     */
+    public void writeTmp(Snapshot snapshot, boolean isSync) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(tmpPath.toFile())) {
+            OutputStream tmpOut = new BufferedOutputStream(out);
+            snapshot.writeTo(tmpOut);
+            tmpOut.flush();
+            if (isSync) {
+                out.getFD().sync();
+            }
+        }
+    }
+
+    /**
+     * Checks if there is a temporary file left behind.
+     *
+     * @return {@code true} if the temporary file exists, {@code false} otherwise.
+     */
+    public boolean hasTmp() {
+        return Files.exists(tmpPath);
+    }
+
+    /**
+     * Deletes the temporary file, if it exists.
+     *
+     * @throws IOException If the temporary file cannot be deleted.
+     */
+    public void deleteTmp() throws IOException {
+        Files.deleteIfExists(tmpPath);
+    }
+
+    /**
+     * Moves the temporary file into place as the save file.
+     *
+     * @throws IOException If the temporary file cannot be moved.
+     */
+    public void replaceWithTmp() throws IOException {
+        try {
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the snapshot to the temporary file, then moves it into place as the save file.
+     * When syncing, the folder is synced after the move too, so that the move itself reaches the hard disk.
+     *
+     * @param snapshot Writes the contents of the new save file.
+     * @param isSync Whether the new save file should be synced to the hard disk.
+     * @throws IOException If the save file cannot be replaced.
+     */
+    public void replace(Snapshot snapshot, boolean isSync) throws IOException {
+        writeTmp(snapshot, isSync);
+        replaceWithTmp();
+        if (isSync) {
+            syncFolder();
+        }
+        isUnsynced = !isSync;
+    }
+
+    /**
+     * Syncs the save file and its folder to the hard disk, if the save file was replaced without being synced.
+     *
+     * @throws IOException If the save file cannot be synced.
+     */
+    public void sync() throws IOException {
+        if (!isUnsynced) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+        syncFolder();
+        isUnsynced = false;
+    }
+
+    /**
+     * Syncs the folder holding the save file, so that the file it points to after a move is durable.
+     * Some systems, such as Windows, do not allow a folder to be opened this way, in which case the move is
+     * already durable once it returns.
+     */
+    private void syncFolder() throws IOException {
+        Path folder = path.toAbsolutePath().getParent();
+        if (folder == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(folder, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // folders cannot be opened on this system
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(List<Snapshot> records) {
+        if (!records.isEmpty()) {
+            latest = records.get(records.size() - 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * A sync with no new snapshot still syncs the save file written by the last batch, if it was not synced.
+     */
+    @Override
+    public void flush(boolean isSync) throws IOException {
+        if (latest == null) {
+            if (isSync) {
+                sync();
+            }
+            return;
+        }
+        Snapshot snapshot = latest;
+        latest = null;
+        replace(snapshot, isSync);
+    }
+
+    /**
+     * Contents of a save file that is about to be written.
+     */
+    public interface Snapshot {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+}
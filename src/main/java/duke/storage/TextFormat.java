@@ -0,0 +1,317 @@
+package duke.storage;
+
+import duke.Parser;
+import duke.Tokenizer;
+import duke.exception.DateOrderException;
+import duke.exception.InvalidSaveFile;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.IsoDateTimeParser;
+import duke.task.Task;
+import duke.task.ToDo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * TextFormat class that converts Tasks to and from lines of the text save file.
+ */
+public class TextFormat {
+    /*
+    Each task is saved as a line in the save file in this format:
+        [id] | [type] | [status] | [description]
+    Followed by:
+        /by [date]                  for Deadlines or
+        /from [date] /to [date]     for Events
+
+    eg. 12 | E | X | holiday /from 2023-02-25T00:00:00 /to 2023-03-04T23:59:00
+
+    Lines saved before Tasks had IDs start from [type], and are given the ID after the one before them.
+
+    The first line records the ID to give the next Task added, which is never lowered as Tasks are deleted:
+        # next id: [id]
+    Save files without it give the next Task the ID after the last one in the file.
+    */
+
+    // Starts the first line of the save file, followed by the ID to give the next Task added
+    public static final String NEXT_ID_HEADER = "# next id: ";
+    // Separates the ID of a Task from the rest of its line
+    public static final String ID_SEPARATOR = " | ";
+    // Most digits in an ID, so that it always fits in a long
+    private static final int MAX_ID_DIGITS = 18;
+    // ints indicating position of terms in each line of the save file, from the start of the type
+    public static final int TYPE_POS = 0;
+    public static final int STATUS_POS = 4;
+    public static final int PARAM_POS = 8;
+    // chars representing type of Tasks within the save file
+    public static final char TXT_TODO_WORD = 'T';
+    public static final char TXT_DEADLINE_WORD = 'D';
+    public static final char TXT_EVENT_WORD = 'E';
+    // char representing a Task that is done within the save file
+    public static final char TXT_DONE_WORD = 'X';
+
+    /**
+     * Writes the ID to give the next Task added, then each Task as a line in the text save file format,
+     * reusing the line cached for each Task that has not changed since it was last written.
+     * Without {@code doneFlags}, the line of each Task is cached for the next time, so this must then be called
+     * by the thread that changes the Tasks. With {@code doneFlags}, as on a background thread, lines are only
+     * reused where the cached line has the same status.
+     *
+     * @param out Destination of the save file contents.
+     * @param allTasks Tasks to be written.
+     * @param doneFlags Status of each Task to be written instead of its current status, or null.
+     * @param nextId ID to give the next Task added.
+     * @throws IOException If something goes wrong while writing.
+     */
+    public static void write(OutputStream out, List<Task> allTasks, boolean[] doneFlags, long nextId)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(NEXT_ID_HEADER + nextId + "\n");
+        for (int i = 0; i < allTasks.size(); i++) {
+            Task task = allTasks.get(i);
+            writer.write((doneFlags == null) ? toLine(task) : toLine(task, doneFlags[i]));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Converts a Task into a line of the save file with its current status, without the trailing newline.
+     * The line is cached for the Task, and reused until the Task changes.
+     *
+     * @param task Task to be converted.
+     * @return Line describing the Task in the save file.
+     */
+    public static String toLine(Task task) {
+        String line = task.getSaveLine();
+        if (line == null) {
+            line = toLine(task, task.getStatus());
+            task.setSaveLine(line);
+        }
+        return line;
+    }
+
+    /**
+     * Converts a Task into a line of the save file with the given status, reusing the line cached for the Task
+     * if it has the same status, but never caching a new one.
+     */
+    private static String toLine(Task task, boolean isDone) {
+        // read once, as the Task may be changed on another thread, which clears its cached line
+        String line = task.getSaveLine();
+        if (line != null) {
+            int typePos = findTypePos(line, 0, line.length());
+            if ((line.charAt(typePos + STATUS_POS) == TXT_DONE_WORD) == isDone) {
+                return line;
+            }
+        }
+        return toLine(task, isDone ? "X" : " ");
+    }
+
+    /**
+     * Converts a Task into a line of the save file, without the trailing newline.
+     *
+     * @param task Task to be converted.
+     * @param stat Status of the Task, "X" if done, " " otherwise.
+     * @return Line describing the Task in the save file.
+     */
+    public static String toLine(Task task, String stat) {
+        String desc = task.getDescription();
+        String id = (task.getId() > 0) ? task.getId() + ID_SEPARATOR : "";
+        switch (task.getType()) {
+        case "deadline":
+            Deadline tempDeadline = (Deadline) task;
+            String by = tempDeadline.getBy(Task.storePattern);
+            return id + "D | " + stat + " | " + desc + " /by " + by;
+        case "event":
+            Event tempEvent = (Event) task;
+            String from = tempEvent.getFrom(Task.storePattern);
+            String to = tempEvent.getTo(Task.storePattern);
+            return id + "E | " + stat + " | " + desc + " /from " + from + " /to " + to;
+        default:
+            return id + "T | " + stat + " | " + desc;
+        }
+    }
+
+    /**
+     * Finds where the type of a Task starts within its line, after its ID if the line has one.
+     *
+     * @param text Text containing the line.
+     * @param start Start of the line.
+     * @param end End of the line.
+     * @return Position of the type, or -1 if the line starts with digits that are not a valid ID.
+     */
+    public static int findTypePos(CharSequence text, int start, int end) {
+        int idEnd = start;
+        while (idEnd < end && text.charAt(idEnd) >= '0' && text.charAt(idEnd) <= '9') {
+            idEnd++;
+        }
+        if (idEnd == start) {
+            return start;
+        }
+        if (idEnd - start > MAX_ID_DIGITS || end - idEnd < ID_SEPARATOR.length()) {
+            return -1;
+        }
+        for (int i = 0; i < ID_SEPARATOR.length(); i++) {
+            if (text.charAt(idEnd + i) != ID_SEPARATOR.charAt(i)) {
+                return -1;
+            }
+        }
+        return idEnd + ID_SEPARATOR.length();
+    }
+
+    /**
+     * Reads the ID to give the next Task added from the first line of the save file.
+     *
+     * @param text Text containing the line.
+     * @param start Start of the line.
+     * @param end End of the line.
+     * @return Next ID, or 0 if the line does not record one, in which case it is read as a Task.
+     */
+    public static long parseNextId(CharSequence text, int start, int end) {
+        int idStart = start + NEXT_ID_HEADER.length();
+        if (end <= idStart || end - idStart > MAX_ID_DIGITS) {
+            return 0;
+        }
+        for (int i = 0; i < NEXT_ID_HEADER.length(); i++) {
+            if (text.charAt(start + i) != NEXT_ID_HEADER.charAt(i)) {
+                return 0;
+            }
+        }
+        long nextId = 0;
+        for (int i = idStart; i < end; i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return 0;
+            }
+            nextId = nextId * 10 + (text.charAt(i) - '0');
+        }
+        return nextId;
+    }
+
+    /**
+     * Reads the ID at the start of a line.
+     *
+     * @param text Text containing the line.
+     * @param start Start of the line.
+     * @param typePos Position of the type, as found by {@link #findTypePos}.
+     * @return ID of the Task, or 0 if the line has none.
+     */
+    public static long parseId(CharSequence text, int start, int typePos) {
+        long id = 0;
+        for (int i = start; i < typePos - ID_SEPARATOR.length(); i++) {
+            id = id * 10 + (text.charAt(i) - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Get the ID of a Task read from the save file, given the ID of the Task before it.
+     * A Task saved without an ID is given the ID after the one before it.
+     *
+     * @param id ID read from the line of the Task, or 0 if it has none.
+     * @param lastId ID of the Task before it, or 0 if it is the first.
+     * @return ID of the Task, or -1 if its ID is not greater than the one before it.
+     */
+    public static long resolveId(long id, long lastId) {
+        if (id == 0) {
+            return lastId + 1;
+        }
+        return (id > lastId) ? id : -1;
+    }
+
+    /**
+     * Interprets a line from the save file, returns it as a new Task.
+     *
+     * @param text Line from the save file.
+     * @return Corresponding Task to data stored in {@code text}.
+     * @throws InvalidSaveFile If any line in the input data is not of the right format.
+     */
+    public static Task parseLine(String text) throws InvalidSaveFile {
+        return parseLine(text, true);
+    }
+
+    /**
+     * Interprets a line from the save file, returns it as a new Task.
+     *
+     * @param text Line from the save file.
+     * @param isDateOrderChecked Whether an Event ending before it starts is treated as invalid.
+     * @return Corresponding Task to data stored in {@code text}, with an ID of 0 if the line has none.
+     * @throws InvalidSaveFile If any line in the input data is not of the right format.
+     */
+    public static Task parseLine(String text, boolean isDateOrderChecked) throws InvalidSaveFile {
+        int typePos = findTypePos(text, 0, text.length());
+        if (typePos < 0 || text.length() - typePos < PARAM_POS) {
+            throw new InvalidSaveFile();
+        }
+        char type = text.charAt(typePos + TYPE_POS);
+        Boolean isDone = text.charAt(typePos + STATUS_POS) == TXT_DONE_WORD;
+        Task task;
+        switch (type) {
+        case TXT_TODO_WORD:
+            task = newToDo(isDone, text.substring(typePos + PARAM_POS));
+            break;
+        case TXT_DEADLINE_WORD:
+            task = newDeadline(isDone, text, typePos + PARAM_POS);
+            break;
+        case TXT_EVENT_WORD:
+            task = newEvent(isDone, text, typePos + PARAM_POS, isDateOrderChecked);
+            break;
+        default:
+            throw new InvalidSaveFile();
+        }
+        task.setId(parseId(text, 0, typePos));
+        return task;
+    }
+
+    private static ToDo newToDo(Boolean isDone, String param) {
+        ToDo newToDo = new ToDo(param);
+        newToDo.setDone(isDone);
+        return newToDo;
+    }
+
+    private static Deadline newDeadline(Boolean isDone, String text, int paramPos) throws InvalidSaveFile {
+        int end = Tokenizer.trimEnd(text, paramPos, text.length());
+        int start = Tokenizer.trimStart(text, paramPos, end);
+        int by = Tokenizer.indexOfDelimiter(text, start, end, Parser.BY_WORD);
+        if (by < 0) {
+            throw new InvalidSaveFile();
+        }
+        int byEnd = by + Tokenizer.getDelimiterLength(text, by, end, Parser.BY_WORD);
+        Deadline newDeadline = new Deadline(text.substring(start, by), text.substring(byEnd, end));
+        newDeadline.setDone(isDone);
+        return newDeadline;
+    }
+
+    private static Event newEvent(Boolean isDone, String text, int paramPos, boolean isDateOrderChecked)
+            throws InvalidSaveFile {
+        int end = Tokenizer.trimEnd(text, paramPos, text.length());
+        int start = Tokenizer.trimStart(text, paramPos, end);
+        int[] offsets = Parser.findEventDelimiters(text, start, end);
+        if (offsets == null) {
+            throw new InvalidSaveFile();
+        }
+        String desc = text.substring(start, offsets[0]);
+        String fromString = text.substring(offsets[1], offsets[2]);
+        String toString = text.substring(offsets[3], end);
+        Event newEvent;
+        try {
+            newEvent = new Event(desc, fromString, toString);
+        } catch (DateOrderException e) {
+            if (isDateOrderChecked) {
+                throw new InvalidSaveFile();
+            }
+            // both dates were parsed for the order to be checked, so they can be parsed again
+            LocalDateTime from = IsoDateTimeParser.parse(fromString);
+            LocalDateTime to = IsoDateTimeParser.parse(toString);
+            newEvent = new Event(desc, from, null, to, null);
+        }
+        newEvent.setDone(isDone);
+        return newEvent;
+    }
+
+}
@@ -0,0 +1,246 @@
+package duke.storage;
+
+import duke.Parser;
+import duke.Tokenizer;
+import duke.exception.InvalidSaveFile;
+import duke.task.LazyTaskList;
+import duke.task.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TextSaveIndex class that finds where each line of a text save file starts and ends,
+ * so that Tasks can be built from the memory-mapped file only when they are accessed.
+ * The structure of each line is checked while indexing, but no dates are parsed.
+ */
+public class TextSaveIndex implements LazyTaskList.Source {
+
+    // Contents of the save file, mapped until they are copied to the heap
+    private ByteBuffer buffer;
+    // The same bytes as chars, so that lines can be checked by the Tokenizer without being decoded
+    private CharSequence chars;
+    // Start of the type, after any ID, and end of each valid line within the file
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    // ID of the Task on each valid line, including those given to lines saved without one
+    private long[] ids = new long[16];
+    private int count;
+    // Counters of invalid lines, as reported when loading the save file
+    private final List<Integer> invalidCounters = new ArrayList<>();
+    // ID to give the next Task added, as recorded in the first line, or 0 if the file does not record it
+    private long nextId;
+
+    private TextSaveIndex(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.chars = new ByteChars(buffer);
+    }
+
+    /**
+     * Maps the save file into memory and indexes each of its lines.
+     *
+     * @param path Location of the save file.
+     * @return Index of the lines in the save file.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public static TextSaveIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Save file is too large to index: " + path);
+            }
+            TextSaveIndex index = new TextSaveIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            index.indexLines();
+            return index;
+        }
+    }
+
+    /**
+     * Get the ID to give the next Task added, as recorded in the save file.
+     *
+     * @return Next ID, or 0 if the file does not record it.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Get the counters of lines that were excluded for being invalid.
+     *
+     * @return Counters in the same form as passed to {@code Ui.printInvalidSaveFile}.
+     */
+    public List<Integer> getInvalidCounters() {
+        return invalidCounters;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDone(int idx) {
+        return buffer.get(starts[idx] + TextFormat.STATUS_POS) == TextFormat.TXT_DONE_WORD;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getId(int idx) {
+        return ids[idx];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void copyToHeap() {
+        if (buffer instanceof MappedByteBuffer) {
+            buffer = MappedFiles.copyAndUnmap((MappedByteBuffer) buffer);
+            chars = new ByteChars(buffer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task load(int idx) {
+        byte[] bytes = new byte[ends[idx] - starts[idx]];
+        ByteBuffer line = buffer.duplicate();
+        line.position(starts[idx]);
+        line.get(bytes);
+        try {
+            Task task = TextFormat.parseLine(new String(bytes, StandardCharsets.UTF_8), false);
+            task.setId(ids[idx]);
+            return task;
+        } catch (InvalidSaveFile e) {
+            throw new IllegalStateException("Save file changed after it was indexed");
+        }
+    }
+
+    /**
+     * Finds every line up to the last one that is not blank, and keeps those with a valid structure
+     * and an ID greater than the one before, after reading the next ID from the first line if it records one.
+     */
+    private void indexLines() {
+        long lastId = 0;
+        int contentEnd = buffer.limit();
+        while (contentEnd > 0 && Tokenizer.isWhitespace(chars.charAt(contentEnd - 1))) {
+            contentEnd--;
+        }
+        int start = 0;
+        while (start < contentEnd) {
+            int end = start;
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (start == 0) {
+                nextId = TextFormat.parseNextId(chars, start, end);
+                if (nextId > 0) {
+                    start = next;
+                    continue;
+                }
+            }
+            int typePos = TextFormat.findTypePos(chars, start, end);
+            long id = (typePos < 0) ? -1 : TextFormat.resolveId(TextFormat.parseId(chars, start, typePos), lastId);
+            if (id >= 0 && isValidLine(typePos, end)) {
+                addLine(typePos, end, id);
+                lastId = id;
+            } else {
+                invalidCounters.add(count);
+            }
+            start = next;
+        }
+    }
+
+    private void addLine(int start, int end, long id) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            ids = Arrays.copyOf(ids, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        ids[count] = id;
+        count++;
+    }
+
+    /**
+     * Checks a line from the start of its type the same way as {@code TextFormat.parseLine},
+     * except for the order of Event dates.
+     */
+    private boolean isValidLine(int start, int end) {
+        if (end - start < TextFormat.PARAM_POS) {
+            return false;
+        }
+        // the description is trimmed before it is split
+        int paramEnd = Tokenizer.trimEnd(chars, start + TextFormat.PARAM_POS, end);
+        int paramStart = Tokenizer.trimStart(chars, start + TextFormat.PARAM_POS, paramEnd);
+        switch (buffer.get(start + TextFormat.TYPE_POS)) {
+        case TextFormat.TXT_TODO_WORD:
+            return true;
+        case TextFormat.TXT_DEADLINE_WORD:
+            return Tokenizer.indexOfDelimiter(chars, paramStart, paramEnd, Parser.BY_WORD) >= 0;
+        case TextFormat.TXT_EVENT_WORD:
+            return Parser.findEventDelimiters(chars, paramStart, paramEnd) != null;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Bytes of the save file read as chars one byte each.
+     * Bytes of multi-byte UTF-8 characters are never whitespace or part of a delimiter, so lines can be
+     * checked this way without decoding them.
+     */
+    private static class ByteChars implements CharSequence {
+        private final ByteBuffer bytes;
+        private final int start;
+        private final int end;
+
+        private ByteChars(ByteBuffer bytes) {
+            this(bytes, 0, bytes.limit());
+        }
+
+        private ByteChars(ByteBuffer bytes, int start, int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int subStart, int subEnd) {
+            return new ByteChars(bytes, start + subStart, start + subEnd);
+        }
+    }
+
+}
@@ -0,0 +1,247 @@
+package duke.storage;
+
+import duke.exception.InvalidSaveFile;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * UndoLog class that keeps the steps of the latest commands in a ring buffer of fixed size, so that they can be
+ * undone and redone, dropping the oldest step once it is full.
+ * Every step, undo and redo is appended to a file alongside the save file, so that the steps outlive the program,
+ * and the file is rewritten with only the steps kept once it has grown well past them.
+ */
+public class UndoLog {
+    /*
+    Each step is saved in the undo log as a header line in this format:
+        S [type] [count]
+    followed by [count] lines, one for each Task that was changed:
+        [save file line]            for added Tasks (type +)
+        [idx] [save file line]      for deleted Tasks (type -), where [idx] is the index the Task was at
+        [id]                        for Tasks marked as done or not done (type M or U)
+    Each undo is saved as a line of <, and each redo as a line of >.
+    */
+
+    // char starting the header line of each step
+    static final char STEP_RECORD = 'S';
+    private static final String UNDO_RECORD = "<";
+    private static final String REDO_RECORD = ">";
+    // Appended to the location of the save file to get the location of the undo log
+    public static final String UNDO_SUFFIX = ".undo";
+    // Number of records the file can hold for each step kept before it is rewritten
+    private static final int COMPACT_FACTOR = 4;
+
+    private final Path path;
+    private final SaveFile file;
+    // Steps kept, as a ring buffer starting at first
+    private final UndoStep[] steps;
+    private int first;
+    private int count;
+    // Number of steps kept that are done, so that the steps after them can be redone
+    private int cursor;
+    // Number of steps, undos and redos in the file
+    private int recordCount;
+    private Writer writer;
+
+    /**
+     * Initialises an empty UndoLog kept alongside the given save file.
+     *
+     * @param filePath Location of the local save file.
+     * @param limit Maximum number of steps kept.
+     */
+    public UndoLog(String filePath, int limit) {
+        this.path = Paths.get(filePath + UNDO_SUFFIX);
+        this.file = new SaveFile(filePath + UNDO_SUFFIX);
+        this.steps = new UndoStep[limit];
+    }
+
+    /**
+     * Reads the steps left in the file by an earlier run, ignoring anything from the first invalid line onwards,
+     * such as a step that was cut short. An undo or redo of a step that is no longer kept, such as after the limit
+     * was lowered, is skipped. The file is rewritten if it had any invalid lines or too many records.
+     *
+     * @throws IOException If the file cannot be read or rewritten.
+     */
+    public void load() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        List<String> records = Files.readAllLines(path, StandardCharsets.UTF_8);
+        int pos = 0;
+        while (pos < records.size()) {
+            String record = records.get(pos);
+            if (record.equals(UNDO_RECORD) || record.equals(REDO_RECORD)) {
+                // skipped once the step it refers to is gone, such as after the limit was lowered,
+                // and counted so that the file is rewritten without it
+                if (record.equals(UNDO_RECORD) && cursor > 0) {
+                    cursor--;
+                } else if (record.equals(REDO_RECORD) && cursor < count) {
+                    cursor++;
+                }
+                pos++;
+            } else {
+                try {
+                    UndoStep step = UndoStep.read(records, pos);
+                    push(step);
+                    pos += step.getCount() + 1;
+                } catch (InvalidSaveFile e) {
+                    // written by an earlier run that stopped midway, so the steps before it are still kept
+                    recordCount = Integer.MAX_VALUE;
+                    break;
+                }
+            }
+            recordCount++;
+        }
+        if (recordCount > getLiveRecordCount()) {
+            rewrite();
+        }
+    }
+
+    /**
+     * Adds the step of a command that has just run, after the steps that are done.
+     * Any steps that were undone can no longer be redone, and the oldest step is dropped if the log is full.
+     *
+     * @param step Step of the command.
+     * @throws IOException If the file cannot be written to.
+     */
+    public void record(UndoStep step) throws IOException {
+        push(step);
+        append(step, null);
+    }
+
+    /**
+     * Get the step that would be undone next.
+     *
+     * @return Latest step that is done, or null if there is none.
+     */
+    public UndoStep peekUndo() {
+        return (cursor == 0) ? null : steps[getPos(cursor - 1)];
+    }
+
+    /**
+     * Get the step that would be redone next.
+     *
+     * @return Earliest step that was undone, or null if there is none.
+     */
+    public UndoStep peekRedo() {
+        return (cursor == count) ? null : steps[getPos(cursor)];
+    }
+
+    /**
+     * Marks the step from {@link #peekUndo()} as undone, once it has been applied.
+     *
+     * @throws IOException If the file cannot be written to.
+     */
+    public void commitUndo() throws IOException {
+        cursor--;
+        append(null, UNDO_RECORD);
+    }
+
+    /**
+     * Marks the step from {@link #peekRedo()} as done again, once it has been applied.
+     *
+     * @throws IOException If the file cannot be written to.
+     */
+    public void commitRedo() throws IOException {
+        cursor++;
+        append(null, REDO_RECORD);
+    }
+
+    /**
+     * Drops every step, such as when they no longer match the TaskList, and deletes the file.
+     *
+     * @throws IOException If the file cannot be deleted.
+     */
+    public void clear() throws IOException {
+        close();
+        first = 0;
+        count = 0;
+        cursor = 0;
+        recordCount = 0;
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Closes the file, if it is open.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private int getPos(int offset) {
+        return (first + offset) % steps.length;
+    }
+
+    private void push(UndoStep step) {
+        count = cursor;
+        if (count == steps.length) {
+            steps[first] = null;
+            first = getPos(1);
+            count--;
+        }
+        steps[getPos(count)] = step;
+        count++;
+        cursor = count;
+    }
+
+    /**
+     * Get the number of records needed to restore the steps kept: one per step, and one per step undone.
+     */
+    private int getLiveRecordCount() {
+        return count + (count - cursor);
+    }
+
+    /**
+     * Appends either a step or a single-line record to the file, and flushes it,
+     * rewriting the whole file instead once it holds too many records.
+     */
+    private void append(UndoStep step, String record) throws IOException {
+        recordCount++;
+        if (recordCount > COMPACT_FACTOR * steps.length) {
+            rewrite();
+            return;
+        }
+        if (writer == null) {
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(path.toFile(), true), StandardCharsets.UTF_8));
+        }
+        if (step != null) {
+            step.write(writer);
+        } else {
+            writer.write(record + "\n");
+        }
+        writer.flush();
+    }
+
+    /**
+     * Replaces the file with one holding only the steps kept, each step that is undone followed by an undo.
+     */
+    private void rewrite() throws IOException {
+        close();
+        file.replace(out -> {
+            Writer outWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            for (int i = 0; i < count; i++) {
+                steps[getPos(i)].write(outWriter);
+            }
+            for (int i = cursor; i < count; i++) {
+                outWriter.write(UNDO_RECORD + "\n");
+            }
+            outWriter.flush();
+        }, false);
+        recordCount = getLiveRecordCount();
+    }
+
+}
@@ -0,0 +1,306 @@
+package duke.storage;
+
+import duke.Storage;
+import duke.exception.InvalidSaveFile;
+import duke.task.Task;
+import duke.task.TaskList;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * UndoStep class that holds what a single command changed, as the Tasks it touched rather than a copy of the list,
+ * so that the command can be undone and redone in time proportional to the number of Tasks it changed.
+ * Added and deleted Tasks are kept as their save file lines, and marked Tasks only by their IDs.
+ */
+public class UndoStep {
+
+    // Type of change, one of the record chars of the journal
+    private final char type;
+    // ID of each Task that was changed, in the order of the TaskList
+    private final long[] ids;
+    // Index each deleted Task was at before the command, in increasing order, null for other changes
+    private final int[] idxs;
+    // Save file line of each added or deleted Task, null for marked Tasks
+    private final String[] lines;
+
+    private UndoStep(char type, long[] ids, int[] idxs, String[] lines) {
+        this.type = type;
+        this.ids = ids;
+        this.idxs = idxs;
+        this.lines = lines;
+    }
+
+    /**
+     * Initialises the step of a Task that has just been added to the end of the TaskList.
+     *
+     * @param task Task that was added, which already has its ID.
+     * @return Step that undoes the add.
+     */
+    public static UndoStep added(Task task) {
+        return new UndoStep(Journal.ADD_RECORD, new long[] {task.getId()}, null,
+                new String[] {TextFormat.toLine(task)});
+    }
+
+    /**
+     * Initialises the step of Tasks that are about to be deleted, while they are still in the TaskList.
+     *
+     * @param idxs Index of each Task, in increasing order.
+     * @param deletedTasks Tasks at those indexes, in the same order.
+     * @return Step that undoes the delete.
+     */
+    public static UndoStep deleted(int[] idxs, List<Task> deletedTasks) {
+        long[] ids = new long[idxs.length];
+        String[] lines = new String[idxs.length];
+        for (int i = 0; i < idxs.length; i++) {
+            ids[i] = deletedTasks.get(i).getId();
+            lines[i] = TextFormat.toLine(deletedTasks.get(i));
+        }
+        return new UndoStep(Journal.DELETE_RECORD, ids, idxs.clone(), lines);
+    }
+
+    /**
+     * Initialises the step of Tasks whose status has just been changed.
+     * Only Tasks whose status actually changed should be given, so that undoing does not change any other Task.
+     *
+     * @param ids ID of each Task, in the order of the TaskList.
+     * @param isDone Whether the Tasks were marked as done or as not done.
+     * @return Step that undoes the mark or unmark.
+     */
+    public static UndoStep marked(long[] ids, boolean isDone) {
+        return new UndoStep(isDone ? Journal.MARK_RECORD : Journal.UNMARK_RECORD, ids, null, null);
+    }
+
+    /**
+     * Get the command word of the command that made the change.
+     *
+     * @return {@code add}, {@code delete}, {@code mark} or {@code unmark}.
+     */
+    public String getCommandWord() {
+        switch (type) {
+        case Journal.ADD_RECORD:
+            return "add";
+        case Journal.DELETE_RECORD:
+            return "delete";
+        case Journal.MARK_RECORD:
+            return "mark";
+        default:
+            return "unmark";
+        }
+    }
+
+    /**
+     * Get the number of Tasks changed.
+     *
+     * @return Number of Tasks.
+     */
+    public int getCount() {
+        return ids.length;
+    }
+
+    /**
+     * Reverts the change on the TaskList, and saves it.
+     *
+     * @param tasks TaskList as the command left it, or as a later redo left it.
+     * @param storage Updates the local save file.
+     * @return {@code false} if the TaskList no longer matches the step, in which case it is left unchanged.
+     * @throws IOException If something goes wrong while saving, in which case the TaskList has still changed.
+     */
+    public boolean undo(TaskList tasks, Storage storage) throws IOException {
+        switch (type) {
+        case Journal.ADD_RECORD:
+            return delete(tasks, storage);
+        case Journal.DELETE_RECORD:
+            return insert(tasks, storage, idxs);
+        default:
+            return mark(tasks, storage, type == Journal.UNMARK_RECORD);
+        }
+    }
+
+    /**
+     * Applies the change to the TaskList again, and saves it.
+     *
+     * @param tasks TaskList as the last undo of this step left it.
+     * @param storage Updates the local save file.
+     * @return {@code false} if the TaskList no longer matches the step, in which case it is left unchanged.
+     * @throws IOException If something goes wrong while saving, in which case the TaskList has still changed.
+     */
+    public boolean redo(TaskList tasks, Storage storage) throws IOException {
+        switch (type) {
+        case Journal.ADD_RECORD:
+            return insert(tasks, storage, new int[] {tasks.getSize()});
+        case Journal.DELETE_RECORD:
+            return delete(tasks, storage);
+        default:
+            return mark(tasks, storage, type == Journal.MARK_RECORD);
+        }
+    }
+
+    /**
+     * Writes the step to the undo log, as a header line followed by one line per Task.
+     *
+     * @param writer Writer of the undo log.
+     * @throws IOException If the undo log cannot be written to.
+     */
+    public void write(Writer writer) throws IOException {
+        writer.write(UndoLog.STEP_RECORD + " " + type + " " + ids.length + "\n");
+        for (int i = 0; i < ids.length; i++) {
+            switch (type) {
+            case Journal.ADD_RECORD:
+                writer.write(lines[i]);
+                break;
+            case Journal.DELETE_RECORD:
+                writer.write(idxs[i] + " " + lines[i]);
+                break;
+            default:
+                writer.write(Long.toString(ids[i]));
+                break;
+            }
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Interprets a step written by {@link #write(Writer)}.
+     *
+     * @param records Lines of the undo log.
+     * @param pos Index of the header line of the step.
+     * @return Step that was written.
+     * @throws InvalidSaveFile If the step is not of the right format, or was cut short.
+     */
+    public static UndoStep read(List<String> records, int pos) throws InvalidSaveFile {
+        try {
+            String[] header = records.get(pos).split(" ");
+            if (header.length != 3 || !header[0].equals(String.valueOf(UndoLog.STEP_RECORD))
+                    || header[1].length() != 1) {
+                throw new InvalidSaveFile();
+            }
+            char type = header[1].charAt(0);
+            int count = Integer.parseInt(header[2]);
+            if (count <= 0 || pos + count >= records.size()) {
+                throw new InvalidSaveFile();
+            }
+            long[] ids = new long[count];
+            int[] idxs = (type == Journal.DELETE_RECORD) ? new int[count] : null;
+            String[] lines = (type == Journal.ADD_RECORD || type == Journal.DELETE_RECORD) ? new String[count] : null;
+            for (int i = 0; i < count; i++) {
+                String record = records.get(pos + 1 + i);
+                switch (type) {
+                case Journal.ADD_RECORD:
+                    lines[i] = record;
+                    ids[i] = TextFormat.parseLine(record, false).getId();
+                    break;
+                case Journal.DELETE_RECORD:
+                    int separator = record.indexOf(' ');
+                    idxs[i] = Integer.parseInt(record.substring(0, separator));
+                    lines[i] = record.substring(separator + 1);
+                    ids[i] = TextFormat.parseLine(lines[i], false).getId();
+                    break;
+                case Journal.MARK_RECORD:
+                case Journal.UNMARK_RECORD:
+                    ids[i] = Long.parseLong(record);
+                    break;
+                default:
+                    throw new InvalidSaveFile();
+                }
+                if (ids[i] <= 0) {
+                    throw new InvalidSaveFile();
+                }
+            }
+            return new UndoStep(type, ids, idxs, lines);
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new InvalidSaveFile();
+        }
+    }
+
+    /**
+     * Deletes every Task of the step, which must all still be in the TaskList.
+     */
+    private boolean delete(TaskList tasks, Storage storage) throws IOException {
+        int[] currentIdxs = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            currentIdxs[i] = tasks.getIndex(ids[i]);
+            if (currentIdxs[i] < 0) {
+                return false;
+            }
+        }
+        if (ids.length == 1) {
+            tasks.deleteTask(currentIdxs[0]);
+            storage.saveDeleted(tasks, currentIdxs[0]);
+            return true;
+        }
+        BitSet selected = new BitSet();
+        for (int idx : currentIdxs) {
+            selected.set(idx);
+        }
+        tasks.deleteTasks(selected);
+        storage.saveBulk(tasks);
+        return true;
+    }
+
+    /**
+     * Puts every Task of the step back at the given indexes, as long as none of them are in the TaskList and
+     * each fits between the IDs of the Tasks that will be around it, so that IDs still increase along the list.
+     */
+    private boolean insert(TaskList tasks, Storage storage, int[] newIdxs) throws IOException {
+        int size = tasks.getSize();
+        if (newIdxs[newIdxs.length - 1] >= size + newIdxs.length) {
+            return false;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            // index of the Task after it among the Tasks already in the list
+            int nextIdx = newIdxs[i] - i;
+            boolean isAfterInserted = i > 0 && newIdxs[i - 1] == newIdxs[i] - 1;
+            long prevId = isAfterInserted ? ids[i - 1] : (nextIdx > 0) ? tasks.getId(nextIdx - 1) : 0;
+            boolean isBeforeInserted = i + 1 < ids.length && newIdxs[i + 1] == newIdxs[i] + 1;
+            long nextId = isBeforeInserted ? ids[i + 1] : (nextIdx < size) ? tasks.getId(nextIdx) : Long.MAX_VALUE;
+            if (prevId >= ids[i] || nextId <= ids[i]) {
+                return false;
+            }
+        }
+        List<Task> insertedTasks = new ArrayList<>(lines.length);
+        try {
+            for (String line : lines) {
+                insertedTasks.add(TextFormat.parseLine(line, false));
+            }
+        } catch (InvalidSaveFile e) {
+            return false;
+        }
+        tasks.insertTasks(newIdxs, insertedTasks);
+        if (newIdxs.length > 1) {
+            storage.saveBulk(tasks);
+        } else if (newIdxs[0] == size) {
+            storage.saveAdded(tasks, insertedTasks.get(0));
+        } else {
+            storage.saveInserted(tasks, newIdxs[0]);
+        }
+        return true;
+    }
+
+    /**
+     * Sets the status of every Task of the step, which must all still be in the TaskList.
+     */
+    private boolean mark(TaskList tasks, Storage storage, boolean isDone) throws IOException {
+        BitSet selected = new BitSet();
+        for (long id : ids) {
+            int idx = tasks.getIndex(id);
+            if (idx < 0) {
+                return false;
+            }
+            selected.set(idx);
+        }
+        if (ids.length == 1) {
+            int idx = selected.nextSetBit(0);
+            tasks.markStatus(idx, isDone);
+            storage.saveMarked(tasks, idx);
+            return true;
+        }
+        tasks.markTasks(selected, isDone);
+        storage.saveBulk(tasks);
+        return true;
+    }
+
+}
@@ -0,0 +1,421 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * ColumnarTaskList class that holds Tasks as parallel arrays of primitives instead of as Task objects.
+ * Descriptions and unparsed dates are kept once each in a pool of strings, and referred to by their index in it.
+ * A Task is only built as a view when it is accessed, so changes to a view are only kept once it is set back.
+ * Dates are stored to the second.
+ */
+public class ColumnarTaskList extends AbstractList<Task> implements RandomAccess {
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NO_STRING = -1;
+    private static final long SECONDS_PER_DAY = 86400;
+    // bytes representing type of Tasks within the type column
+    private static final byte TODO_TYPE = 'T';
+    private static final byte DEADLINE_TYPE = 'D';
+    private static final byte EVENT_TYPE = 'E';
+
+    private final StringPool pool = new StringPool();
+    private byte[] types;
+    private final BitSet doneBits = new BitSet();
+    // Due date of Deadlines and start date of Events, in seconds since the epoch in UTC
+    private long[] firsts;
+    // End date of Events, in seconds since the epoch in UTC
+    private long[] seconds;
+    private int[] descIds;
+    private long[] taskIds;
+    // Unparsed dates, used only where the corresponding date is NO_DATE
+    private int[] firstStringIds;
+    private int[] secondStringIds;
+    private int size;
+
+    /**
+     * Initialises the list with a copy of every Task in the given List.
+     *
+     * @param allTasks Tasks to be stored.
+     */
+    public ColumnarTaskList(List<Task> allTasks) {
+        int capacity = Math.max(allTasks.size(), 10);
+        types = new byte[capacity];
+        firsts = new long[capacity];
+        seconds = new long[capacity];
+        descIds = new int[capacity];
+        taskIds = new long[capacity];
+        firstStringIds = new int[capacity];
+        secondStringIds = new int[capacity];
+        for (Task task : allTasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Builds a new view of the Task, which is not kept by the list.
+     */
+    @Override
+    public Task get(int idx) {
+        checkIndex(idx, size);
+        String desc = pool.get(descIds[idx]);
+        Task task;
+        switch (types[idx]) {
+        case DEADLINE_TYPE:
+            task = new Deadline(desc, toDateTime(firsts[idx]), getString(firstStringIds[idx]));
+            break;
+        case EVENT_TYPE:
+            task = new Event(desc, toDateTime(firsts[idx]), getString(firstStringIds[idx]),
+                    toDateTime(seconds[idx]), getString(secondStringIds[idx]));
+            break;
+        default:
+            task = new ToDo(desc);
+            break;
+        }
+        task.setDone(doneBits.get(idx));
+        task.setId(taskIds[idx]);
+        return task;
+    }
+
+    /**
+     * Check if the Task at the given index is done, without building it.
+     *
+     * @param idx Index of the Task.
+     * @return {@code true} if the Task is done, {@code false} otherwise.
+     */
+    public boolean isDone(int idx) {
+        checkIndex(idx, size);
+        return doneBits.get(idx);
+    }
+
+    /**
+     * Check if the Task at the given index is overdue, the same as {@code Task.isOverdue}, without building it.
+     *
+     * @param idx Index of the Task.
+     * @param now Time to be checked against.
+     * @return {@code true} if the Task is overdue, {@code false} otherwise.
+     */
+    public boolean isOverdue(int idx, LocalDateTime now) {
+        checkIndex(idx, size);
+        long due = (types[idx] == DEADLINE_TYPE) ? firsts[idx] : (types[idx] == EVENT_TYPE) ? seconds[idx] : NO_DATE;
+        return !doneBits.get(idx) && due != NO_DATE && due < toEpochSecond(now);
+    }
+
+    /**
+     * Get the ID of the Task at the given index, without building it.
+     *
+     * @param idx Index of the Task.
+     * @return ID of the Task.
+     */
+    public long getId(int idx) {
+        checkIndex(idx, size);
+        return taskIds[idx];
+    }
+
+    /**
+     * Sets the status of the Task at the given index, without building it.
+     *
+     * @param idx Index of the Task.
+     * @param isDone Status the Task should be updated to.
+     */
+    public void setDone(int idx, boolean isDone) {
+        checkIndex(idx, size);
+        doneBits.set(idx, isDone);
+    }
+
+    /**
+     * Get the description of the Task at the given index, without building it.
+     *
+     * @param idx Index of the Task.
+     * @return String describing the Task.
+     */
+    public String getDescription(int idx) {
+        checkIndex(idx, size);
+        return pool.get(descIds[idx]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Stores the contents of the given Task in place of the Task at the given index.
+     */
+    @Override
+    public Task set(int idx, Task task) {
+        Task oldTask = get(idx);
+        release(idx);
+        store(idx, task);
+        return oldTask;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int idx, Task task) {
+        checkIndex(idx, size + 1);
+        if (size == types.length) {
+            grow();
+        }
+        shift(idx, idx + 1, size - idx);
+        size++;
+        store(idx, task);
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task remove(int idx) {
+        Task oldTask = get(idx);
+        release(idx);
+        shift(idx + 1, idx, size - idx - 1);
+        size--;
+        modCount++;
+        return oldTask;
+    }
+
+    /**
+     * Removes every Task whose index is set, moving the remaining Tasks down in a single pass.
+     *
+     * @param selected Indexes of the Tasks to remove.
+     */
+    public void removeSelected(BitSet selected) {
+        int kept = 0;
+        for (int idx = 0; idx < size; idx++) {
+            if (selected.get(idx)) {
+                release(idx);
+                continue;
+            }
+            if (kept != idx) {
+                types[kept] = types[idx];
+                firsts[kept] = firsts[idx];
+                seconds[kept] = seconds[idx];
+                descIds[kept] = descIds[idx];
+                taskIds[kept] = taskIds[idx];
+                firstStringIds[kept] = firstStringIds[idx];
+                secondStringIds[kept] = secondStringIds[idx];
+                doneBits.set(kept, doneBits.get(idx));
+            }
+            kept++;
+        }
+        doneBits.clear(kept, size);
+        size = kept;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get all Tasks that contain the given keyword in their description.
+     * Each distinct description is only checked once, and only matching Tasks are built.
+     *
+     * @param keyword The given keyword to check for.
+     * @return ArrayList of all Tasks containing the keyword.
+     */
+    public ArrayList<Task> findTasks(String keyword) {
+        boolean[] isMatch = pool.match(keyword);
+        ArrayList<Task> foundTasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (isMatch[descIds[i]]) {
+                foundTasks.add(get(i));
+            }
+        }
+        return foundTasks;
+    }
+
+    /**
+     * Get all Tasks that occur on any day between the given dates, inclusive,
+     * the same as checking {@code Task.isBetweenDates} for each Task. Only matching Tasks are built.
+     *
+     * @param start First date of the range.
+     * @param end Last date of the range.
+     * @return ArrayList of all Tasks occurring within the range.
+     */
+    public ArrayList<Task> getTasksBetweenDates(LocalDate start, LocalDate end) {
+        long startDay = start.toEpochDay();
+        long endDay = end.toEpochDay();
+        ArrayList<Task> foundTasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            boolean isFirstInRange = isInRange(firsts[i], startDay, endDay);
+            boolean isSecondInRange = types[i] == EVENT_TYPE && isInRange(seconds[i], startDay, endDay);
+            boolean isOverlapping = types[i] == EVENT_TYPE && firsts[i] != NO_DATE && seconds[i] != NO_DATE
+                    && toEpochDay(firsts[i]) <= endDay && toEpochDay(seconds[i]) >= startDay;
+            if (isFirstInRange || isSecondInRange || isOverlapping) {
+                foundTasks.add(get(i));
+            }
+        }
+        return foundTasks;
+    }
+
+    private void store(int idx, Task task) {
+        descIds[idx] = pool.add(task.getDescription());
+        taskIds[idx] = task.getId();
+        firsts[idx] = NO_DATE;
+        seconds[idx] = NO_DATE;
+        firstStringIds[idx] = NO_STRING;
+        secondStringIds[idx] = NO_STRING;
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            types[idx] = DEADLINE_TYPE;
+            firsts[idx] = toEpochSecond(deadline.getByDateTime());
+            if (deadline.getByDateTime() == null) {
+                firstStringIds[idx] = pool.add(deadline.getBy(Task.storePattern));
+            }
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            types[idx] = EVENT_TYPE;
+            firsts[idx] = toEpochSecond(event.getFromDateTime());
+            seconds[idx] = toEpochSecond(event.getToDateTime());
+            if (event.getFromDateTime() == null) {
+                firstStringIds[idx] = pool.add(event.getFrom(Task.storePattern));
+            }
+            if (event.getToDateTime() == null) {
+                secondStringIds[idx] = pool.add(event.getTo(Task.storePattern));
+            }
+        } else {
+            types[idx] = TODO_TYPE;
+        }
+        doneBits.set(idx, task.isDone());
+    }
+
+    private void release(int idx) {
+        pool.release(descIds[idx]);
+        pool.release(firstStringIds[idx]);
+        pool.release(secondStringIds[idx]);
+    }
+
+    /**
+     * Moves the given number of Tasks in every column from one index to another.
+     */
+    private void shift(int from, int to, int length) {
+        System.arraycopy(types, from, types, to, length);
+        System.arraycopy(firsts, from, firsts, to, length);
+        System.arraycopy(seconds, from, seconds, to, length);
+        System.arraycopy(descIds, from, descIds, to, length);
+        System.arraycopy(taskIds, from, taskIds, to, length);
+        System.arraycopy(firstStringIds, from, firstStringIds, to, length);
+        System.arraycopy(secondStringIds, from, secondStringIds, to, length);
+        BitSet moved = doneBits.get(from, from + length);
+        doneBits.clear(Math.min(from, to), Math.max(from, to) + length);
+        for (int i = moved.nextSetBit(0); i >= 0; i = moved.nextSetBit(i + 1)) {
+            doneBits.set(to + i);
+        }
+    }
+
+    private void grow() {
+        int newLength = types.length + (types.length >> 1);
+        types = Arrays.copyOf(types, newLength);
+        firsts = Arrays.copyOf(firsts, newLength);
+        seconds = Arrays.copyOf(seconds, newLength);
+        descIds = Arrays.copyOf(descIds, newLength);
+        taskIds = Arrays.copyOf(taskIds, newLength);
+        firstStringIds = Arrays.copyOf(firstStringIds, newLength);
+        secondStringIds = Arrays.copyOf(secondStringIds, newLength);
+    }
+
+    private String getString(int id) {
+        return (id == NO_STRING) ? null : pool.get(id);
+    }
+
+    private static boolean isInRange(long epochSecond, long startDay, long endDay) {
+        if (epochSecond == NO_DATE) {
+            return false;
+        }
+        long day = toEpochDay(epochSecond);
+        return day >= startDay && day <= endDay;
+    }
+
+    private static long toEpochDay(long epochSecond) {
+        return Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    }
+
+    private static long toEpochSecond(LocalDateTime date) {
+        return (date == null) ? NO_DATE : date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return (epochSecond == NO_DATE) ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static void checkIndex(int idx, int length) {
+        if (idx < 0 || idx >= length) {
+            throw new IndexOutOfBoundsException("Index: " + idx + ", Size: " + length);
+        }
+    }
+
+    /**
+     * Distinct strings, each kept once along with the number of Tasks referring to it.
+     * The slot of a string that is no longer referred to is reused for the next new string.
+     */
+    private static class StringPool {
+        private final HashMap<String, Integer> ids = new HashMap<>();
+        private final ArrayList<String> strings = new ArrayList<>();
+        private int[] refCounts = new int[16];
+        private final ArrayList<Integer> freeIds = new ArrayList<>();
+
+        private int add(String string) {
+            Integer id = ids.get(string);
+            if (id == null) {
+                if (freeIds.isEmpty()) {
+                    id = strings.size();
+                    strings.add(string);
+                } else {
+                    id = freeIds.remove(freeIds.size() - 1);
+                    strings.set(id, string);
+                }
+                ids.put(string, id);
+                if (id == refCounts.length) {
+                    refCounts = Arrays.copyOf(refCounts, id * 2);
+                }
+            }
+            refCounts[id]++;
+            return id;
+        }
+
+        private void release(int id) {
+            if (id == NO_STRING) {
+                return;
+            }
+            refCounts[id]--;
+            if (refCounts[id] == 0) {
+                ids.remove(strings.get(id));
+                strings.set(id, null);
+                freeIds.add(id);
+            }
+        }
+
+        private String get(int id) {
+            return strings.get(id);
+        }
+
+        /**
+         * Checks each string in the pool once for the keyword.
+         *
+         * @return Whether the string with each id contains the keyword.
+         */
+        private boolean[] match(String keyword) {
+            boolean[] isMatch = new boolean[strings.size()];
+            for (int id = 0; id < isMatch.length; id++) {
+                String string = strings.get(id);
+                isMatch[id] = string != null && string.contains(keyword);
+            }
+            return isMatch;
+        }
+    }
+
+}
@@ -0,0 +1,292 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+/**
+ * DateIntervalIndex class that keeps the days each Task occurs on as intervals in an interval tree,
+ * so that the Tasks occurring within a range of days are found without checking every Task.
+ * Deadlines are single days, while Events span from their start date to their end date.
+ * The tree is a treap ordered by start day, where each node also keeps the earliest and latest end day below it,
+ * so that a window of days, or every day up to one, only visits the nodes that could end within it.
+ */
+public class DateIntervalIndex {
+
+    private final Random random = new Random();
+    private Node root;
+    // Nodes of each indexed Task, so that they can be found again when it is deleted
+    private final IdentityHashMap<Task, Node[]> nodes = new IdentityHashMap<>();
+
+    /**
+     * Adds a Task that has just been added to the TaskList.
+     * Tasks without any parsed dates are not indexed, as they never occur on any date.
+     * Tasks are ordered by their IDs, which increase along the TaskList, so that they are found in its order.
+     *
+     * @param task Task to be indexed, which already has its ID.
+     */
+    public void add(Task task) {
+        long seq = task.getId();
+        long[] intervals = getIntervals(task);
+        if (intervals.length == 0) {
+            return;
+        }
+        Node[] taskNodes = new Node[intervals.length / 2];
+        for (int i = 0; i < taskNodes.length; i++) {
+            taskNodes[i] = new Node(intervals[2 * i], intervals[2 * i + 1], seq, task, random.nextInt());
+            root = insert(root, taskNodes[i]);
+        }
+        nodes.put(task, taskNodes);
+    }
+
+    /**
+     * Removes a Task that has just been deleted from the TaskList.
+     *
+     * @param task Task to be removed from the index.
+     */
+    public void remove(Task task) {
+        Node[] taskNodes = nodes.remove(task);
+        if (taskNodes == null) {
+            return;
+        }
+        for (Node node : taskNodes) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Get all Tasks that occur on any day from the start date to the end date, inclusive.
+     *
+     * @param start First day of the range.
+     * @param end Last day of the range.
+     * @return ArrayList of all Tasks occurring within the range, in the order of the TaskList.
+     */
+    public ArrayList<Task> find(LocalDate start, LocalDate end) {
+        ArrayList<Node> found = new ArrayList<>();
+        collect(root, start.toEpochDay(), end.toEpochDay(), found);
+        return toTasks(found);
+    }
+
+    /**
+     * Get all Tasks that stop occurring on or before the given date, such as those that may be overdue.
+     * Subtrees that start after the date, or that only end after it, are skipped.
+     *
+     * @param last Last day that the Tasks may end on.
+     * @return ArrayList of all Tasks ending by then, in the order of the TaskList.
+     */
+    public ArrayList<Task> findEndingBy(LocalDate last) {
+        ArrayList<Node> found = new ArrayList<>();
+        collectEndingBy(root, last.toEpochDay(), found);
+        return toTasks(found);
+    }
+
+    /**
+     * Get the Task of each node found, in the order of the TaskList, with each Task only once.
+     */
+    private static ArrayList<Task> toTasks(ArrayList<Node> found) {
+        found.sort((first, second) -> Long.compare(first.seq, second.seq));
+        ArrayList<Task> foundTasks = new ArrayList<>();
+        for (int i = 0; i < found.size(); i++) {
+            // an Event ending before it starts has two nodes, which may both be found
+            if (i == 0 || found.get(i).seq != found.get(i - 1).seq) {
+                foundTasks.add(found.get(i).task);
+            }
+        }
+        return foundTasks;
+    }
+
+    /**
+     * Get the days a Task occurs on, the same as the days {@code Task.isOnDate} is true for.
+     *
+     * @return Start and end epoch day of each interval, one after another.
+     */
+    private static long[] getIntervals(Task task) {
+        if (task instanceof Deadline) {
+            LocalDateTime by = ((Deadline) task).getByDateTime();
+            return (by == null) ? new long[0] : new long[] {toEpochDay(by), toEpochDay(by)};
+        }
+        if (task instanceof Event) {
+            LocalDateTime from = ((Event) task).getFromDateTime();
+            LocalDateTime to = ((Event) task).getToDateTime();
+            if (from == null && to == null) {
+                return new long[0];
+            } else if (from == null) {
+                return new long[] {toEpochDay(to), toEpochDay(to)};
+            } else if (to == null) {
+                return new long[] {toEpochDay(from), toEpochDay(from)};
+            } else if (toEpochDay(from) > toEpochDay(to)) {
+                return new long[] {toEpochDay(from), toEpochDay(from), toEpochDay(to), toEpochDay(to)};
+            }
+            return new long[] {toEpochDay(from), toEpochDay(to)};
+        }
+        return new long[0];
+    }
+
+    private static long toEpochDay(LocalDateTime date) {
+        return date.toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Adds every node in the subtree that overlaps the range to {@code found}.
+     * Subtrees that end before the range, or start after it, are skipped.
+     */
+    private static void collect(Node node, long start, long end, ArrayList<Node> found) {
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        collect(node.left, start, end, found);
+        if (node.start > end) {
+            return;
+        }
+        if (node.end >= start) {
+            found.add(node);
+        }
+        collect(node.right, start, end, found);
+    }
+
+    /**
+     * Adds every node in the subtree that ends on or before the given day to {@code found}.
+     * Nodes never end before they start, so every node after one starting later than the day is skipped too.
+     */
+    private static void collectEndingBy(Node node, long last, ArrayList<Node> found) {
+        if (node == null || node.minEnd > last) {
+            return;
+        }
+        collectEndingBy(node.left, last, found);
+        if (node.start > last) {
+            return;
+        }
+        if (node.end <= last) {
+            found.add(node);
+        }
+        collectEndingBy(node.right, last, found);
+    }
+
+    private static Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (newNode.priority > node.priority) {
+            Node[] halves = split(node, newNode);
+            newNode.left = halves[0];
+            newNode.right = halves[1];
+            newNode.update();
+            return newNode;
+        }
+        if (newNode.compareTo(node) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, Node target) {
+        if (node == null) {
+            return null;
+        }
+        if (node == target) {
+            return merge(node.left, node.right);
+        }
+        if (target.compareTo(node) < 0) {
+            node.left = delete(node.left, target);
+        } else {
+            node.right = delete(node.right, target);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Splits the subtree into the nodes ordered before the given node, and those ordered after it.
+     */
+    private static Node[] split(Node node, Node pivot) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (node.compareTo(pivot) < 0) {
+            Node[] halves = split(node.right, pivot);
+            node.right = halves[0];
+            node.update();
+            halves[0] = node;
+            return halves;
+        }
+        Node[] halves = split(node.left, pivot);
+        node.left = halves[1];
+        node.update();
+        halves[1] = node;
+        return halves;
+    }
+
+    /**
+     * Joins two subtrees, where every node in the first is ordered before every node in the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    /**
+     * Interval of days that a Task occurs on, ordered by its start day and then by the order of the Task.
+     */
+    private static class Node implements Comparable<Node> {
+        private final long start;
+        private final long end;
+        private final long seq;
+        private final Task task;
+        private final int priority;
+        // Earliest and latest end day of any node in this subtree
+        private long minEnd;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long seq, Task task, int priority) {
+            this.start = start;
+            this.end = end;
+            this.seq = seq;
+            this.task = task;
+            this.priority = priority;
+            this.minEnd = end;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            minEnd = end;
+            maxEnd = end;
+            if (left != null) {
+                minEnd = Math.min(minEnd, left.minEnd);
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                minEnd = Math.min(minEnd, right.minEnd);
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            // the nodes of a single Task never share a start day, so no two nodes are equal
+            if (start != other.start) {
+                return Long.compare(start, other.start);
+            }
+            return Long.compare(seq, other.seq);
+        }
+    }
+
+}
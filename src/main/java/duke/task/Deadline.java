@@ -5,7 +5,6 @@ import duke.Parser;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 /**
  * Deadlines are a type of Task that have a set due date,
@@ -26,13 +25,36 @@ public class Deadline extends Task {
      */
     public Deadline(String description, String byString) {
         super(description);
-        try {
-            this.by = LocalDateTime.parse(byString);
-        } catch (DateTimeParseException e) {
+        this.by = IsoDateTimeParser.parse(byString);
+        if (by == null) {
             this.byString = byString;
         }
     }
 
+    /**
+     * Initialises as in Task, with a due date that has already been parsed.
+     *
+     * @param description String describing the Task.
+     * @param by Due date, or null if it could not be parsed.
+     * @param byString String describing the due date, used only if {@code by} is null.
+     */
+    public Deadline(String description, LocalDateTime by, String byString) {
+        super(description);
+        this.by = by;
+        if (by == null) {
+            this.byString = byString;
+        }
+    }
+
+    /**
+     * Get the due date of the Deadline.
+     *
+     * @return Due date, or null if it could not be parsed.
+     */
+    public LocalDateTime getByDateTime() {
+        return by;
+    }
+
     /**
      * Get a String describing the due date of the Deadline.
      *
@@ -68,8 +90,50 @@ public class Deadline extends Task {
      * {@inheritDoc}
      */
     @Override
-    public String toString() {
-        return "[" + DEADLINE_LABEL + "][" + getStatus() + "] " + description + " (by: " + getBy(printPattern) + ")";
+    public Boolean isBetweenDates(LocalDate start, LocalDate end) {
+        if (by == null) {
+            return false;
+        }
+        LocalDate byDate = by.toLocalDate();
+        return !byDate.isBefore(start) && !byDate.isAfter(end);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOverdue(LocalDateTime now) {
+        return !isDone && by != null && by.isBefore(now);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isUpcoming(LocalDateTime now, LocalDateTime limit) {
+        return !isDone && by != null && !by.isBefore(now) && !by.isAfter(limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task copy() {
+        Deadline copy = new Deadline(description, by, byString);
+        copy.setDone(isDone);
+        copy.setId(id);
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void render(StringBuilder sb) {
+        sb.append('[').append(DEADLINE_LABEL).append("][").append(getStatus()).append("] ").append(description);
+        sb.append(" (by: ");
+        appendDate(sb, by, byString);
+        sb.append(')');
     }
 
 }
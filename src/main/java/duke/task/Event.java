@@ -6,7 +6,6 @@ import duke.exception.DateOrderException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 /**
  * Events are a type of Task that have a set start date and end date,
@@ -30,14 +29,12 @@ public class Event extends Task {
      */
     public Event(String description, String fromString, String toString) throws DateOrderException {
         super(description);
-        try {
-            this.from = LocalDateTime.parse(fromString);
-        } catch (DateTimeParseException e) {
+        this.from = IsoDateTimeParser.parse(fromString);
+        if (from == null) {
             this.fromString = fromString;
         }
-        try {
-            this.to = LocalDateTime.parse(toString);
-        } catch (DateTimeParseException e) {
+        this.to = IsoDateTimeParser.parse(toString);
+        if (to == null) {
             this.toString = toString;
         }
         if (this.from != null && this.to != null) {
@@ -47,6 +44,45 @@ public class Event extends Task {
         }
     }
 
+    /**
+     * Initialises as in Task, with start and end dates that have already been parsed and checked.
+     *
+     * @param description String describing the Task.
+     * @param from Start date, or null if it could not be parsed.
+     * @param fromString String describing the start date, used only if {@code from} is null.
+     * @param to End date, or null if it could not be parsed.
+     * @param toString String describing the end date, used only if {@code to} is null.
+     */
+    public Event(String description, LocalDateTime from, String fromString, LocalDateTime to, String toString) {
+        super(description);
+        this.from = from;
+        this.to = to;
+        if (from == null) {
+            this.fromString = fromString;
+        }
+        if (to == null) {
+            this.toString = toString;
+        }
+    }
+
+    /**
+     * Get the start date of the Event.
+     *
+     * @return Start date, or null if it could not be parsed.
+     */
+    public LocalDateTime getFromDateTime() {
+        return from;
+    }
+
+    /**
+     * Get the end date of the Event.
+     *
+     * @return End date, or null if it could not be parsed.
+     */
+    public LocalDateTime getToDateTime() {
+        return to;
+    }
+
     /**
      * Get a String describing the start date of the Event.
      *
@@ -101,8 +137,59 @@ public class Event extends Task {
      * {@inheritDoc}
      */
     @Override
-    public String toString() {
-        return "[" + EVENT_LABEL + "][" + getStatus() + "] " + description +
-                " (from: " + getFrom(printPattern) + " to: " + getTo(printPattern) + ")";
+    public Boolean isBetweenDates(LocalDate start, LocalDate end) {
+        LocalDate fromDate = (from != null) ? from.toLocalDate() : null;
+        LocalDate toDate = (to != null) ? to.toLocalDate() : null;
+        boolean isFromInRange = fromDate != null && !fromDate.isBefore(start) && !fromDate.isAfter(end);
+        boolean isToInRange = toDate != null && !toDate.isBefore(start) && !toDate.isAfter(end);
+        boolean isOverlapping = fromDate != null && toDate != null && !fromDate.isAfter(end) && !toDate.isBefore(start);
+
+        return isFromInRange || isToInRange || isOverlapping;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOverdue(LocalDateTime now) {
+        return !isDone && to != null && to.isBefore(now);
+    }
+
+    /**
+     * {@inheritDoc}
+     * An Event with only one parsed date takes place at that time.
+     */
+    @Override
+    public boolean isUpcoming(LocalDateTime now, LocalDateTime limit) {
+        if (isDone || (from == null && to == null)) {
+            return false;
+        }
+        LocalDateTime start = (from == null) ? to : from;
+        LocalDateTime end = (to == null) ? from : to;
+        return !end.isBefore(now) && !start.isAfter(limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task copy() {
+        Event copy = new Event(description, from, fromString, to, toString);
+        copy.setDone(isDone);
+        copy.setId(id);
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void render(StringBuilder sb) {
+        sb.append('[').append(EVENT_LABEL).append("][").append(getStatus()).append("] ").append(description);
+        sb.append(" (from: ");
+        appendDate(sb, from, fromString);
+        sb.append(" to: ");
+        appendDate(sb, to, toString);
+        sb.append(')');
     }
 }
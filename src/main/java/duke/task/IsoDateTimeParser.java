@@ -0,0 +1,125 @@
+package duke.task;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IsoDateTimeParser class that parses dates in the format {@code yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]]},
+ * the same as {@code LocalDateTime.parse}, but returns null instead of throwing when the date cannot be parsed.
+ * Dates in the usual format are read directly from their digits. Anything else is either rejected straight away,
+ * or left to {@code LocalDateTime.parse}, in which case strings that fail are remembered so that
+ * free-text dates such as "2pm" are only tried once.
+ */
+public class IsoDateTimeParser {
+
+    // Most free-text dates remembered before the cache is cleared
+    private static final int CACHE_LIMIT = 4096;
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private static final Set<String> freeTextCache = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Parses a date, the same as {@code LocalDateTime.parse} would.
+     *
+     * @param text String describing the date.
+     * @return Parsed date, or null if it is not in the ISO-8601 format.
+     */
+    public static LocalDateTime parse(String text) {
+        int length = text.length();
+        if (length >= 16 && isFastPathShape(text, length)) {
+            return parseFastPath(text, length);
+        }
+        // the year of an ISO-8601 date can only start with a digit or a sign
+        if (length == 0 || !(isDigit(text.charAt(0)) || text.charAt(0) == '+' || text.charAt(0) == '-')) {
+            return null;
+        }
+        if (freeTextCache.contains(text)) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            if (freeTextCache.size() >= CACHE_LIMIT) {
+                freeTextCache.clear();
+            }
+            freeTextCache.add(text);
+            return null;
+        }
+    }
+
+    /**
+     * Checks for a 4-digit year, an upper-case {@code T}, and either no seconds, seconds,
+     * or seconds with 1 to 9 digits of fraction.
+     */
+    private static boolean isFastPathShape(String text, int length) {
+        if (!(areDigits(text, 0, 4) && text.charAt(4) == '-' && areDigits(text, 5, 7) && text.charAt(7) == '-'
+                && areDigits(text, 8, 10) && text.charAt(10) == 'T' && areDigits(text, 11, 13)
+                && text.charAt(13) == ':' && areDigits(text, 14, 16))) {
+            return false;
+        }
+        if (length == 16) {
+            return true;
+        }
+        if (length < 19 || text.charAt(16) != ':' || !areDigits(text, 17, 19)) {
+            return false;
+        }
+        if (length == 19) {
+            return true;
+        }
+        return length > 20 && length <= 29 && text.charAt(19) == '.' && areDigits(text, 20, length);
+    }
+
+    /**
+     * Reads the date from a string already known to have the right shape,
+     * rejecting fields that are out of range as the strict ISO-8601 resolver does.
+     */
+    private static LocalDateTime parseFastPath(String text, int length) {
+        int year = readInt(text, 0, 4);
+        int month = readInt(text, 5, 7);
+        int day = readInt(text, 8, 10);
+        int hour = readInt(text, 11, 13);
+        int minute = readInt(text, 14, 16);
+        int second = (length > 16) ? readInt(text, 17, 19) : 0;
+        int nano = 0;
+        if (length > 19) {
+            nano = readInt(text, 20, length);
+            for (int i = length; i < 29; i++) {
+                nano *= 10;
+            }
+        }
+        if (month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]
+                || (month == 2 && day == 29 && !isLeapYear(year))
+                || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static boolean areDigits(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int readInt(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,181 @@
+package duke.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * KeywordIndex class that maps each whitespace-separated token of the Task descriptions to the Tasks containing it,
+ * and each n-gram of those tokens to the tokens containing it.
+ * Substring searches only check the Tasks whose tokens could contain the keyword,
+ * instead of every Task in the TaskList.
+ */
+public class KeywordIndex {
+    // Length of the n-grams that tokens are indexed by
+    private static final int GRAM_LENGTH = 3;
+
+    // ID of each Task, which increases along the TaskList, so that Tasks are found in its order
+    private final IdentityHashMap<Task, Long> seqs = new IdentityHashMap<>();
+    // Tasks whose description contains each token
+    private final HashMap<String, Set<Task>> postings = new HashMap<>();
+    // Tokens containing each n-gram
+    private final HashMap<String, Set<String>> gramTokens = new HashMap<>();
+
+    /**
+     * Adds a Task that has just been added to the TaskList.
+     *
+     * @param task Task to be indexed, which already has its ID.
+     */
+    public void add(Task task) {
+        seqs.put(task, task.getId());
+        for (String token : tokenize(task.description)) {
+            Set<Task> tasks = postings.get(token);
+            if (tasks == null) {
+                tasks = Collections.newSetFromMap(new IdentityHashMap<>());
+                postings.put(token, tasks);
+                addGrams(token);
+            }
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Removes a Task that has just been deleted from the TaskList.
+     *
+     * @param task Task to be removed from the index.
+     */
+    public void remove(Task task) {
+        if (seqs.remove(task) == null) {
+            return;
+        }
+        for (String token : tokenize(task.description)) {
+            Set<Task> tasks = postings.get(token);
+            if (tasks == null) {
+                continue;
+            }
+            tasks.remove(task);
+            if (tasks.isEmpty()) {
+                postings.remove(token);
+                removeGrams(token);
+            }
+        }
+    }
+
+    /**
+     * Get all Tasks that contain the given keyword anywhere in their description,
+     * the same as checking {@code description.contains(keyword)} for each Task.
+     * The keyword must contain at least one character that is not whitespace.
+     *
+     * @param keyword The given keyword to check for.
+     * @return ArrayList of all Tasks containing the keyword, in the order of the TaskList.
+     */
+    public ArrayList<Task> find(String keyword) {
+        // a piece of the keyword between two whitespace characters must be a whole token of the description,
+        // while any other piece must be within a single token
+        List<String> pieces = tokenize(keyword);
+        int last = pieces.size() - 1;
+        boolean isFirstWhole = Character.isWhitespace(keyword.charAt(0));
+        boolean isLastWhole = Character.isWhitespace(keyword.charAt(keyword.length() - 1));
+        Set<Task> candidates = null;
+        for (int i = 0; i <= last && candidates == null; i++) {
+            boolean isWhole = (i > 0 || isFirstWhole) && (i < last || isLastWhole);
+            if (isWhole) {
+                candidates = postings.getOrDefault(pieces.get(i), Collections.emptySet());
+            }
+        }
+        if (candidates == null) {
+            candidates = findTokensContaining(getLongest(pieces));
+        }
+
+        ArrayList<Task> foundTasks = new ArrayList<>();
+        for (Task task : candidates) {
+            if (task.description.contains(keyword)) {
+                foundTasks.add(task);
+            }
+        }
+        return sortBySeq(foundTasks);
+    }
+
+    /**
+     * Get all Tasks with a token containing the given piece, using the n-grams of the piece to narrow down the tokens.
+     */
+    private Set<Task> findTokensContaining(String piece) {
+        Iterable<String> tokens = postings.keySet();
+        if (piece.length() >= GRAM_LENGTH) {
+            Set<String> smallest = null;
+            for (int i = 0; i + GRAM_LENGTH <= piece.length(); i++) {
+                Set<String> gramSet = gramTokens.getOrDefault(piece.substring(i, i + GRAM_LENGTH),
+                        Collections.emptySet());
+                if (smallest == null || gramSet.size() < smallest.size()) {
+                    smallest = gramSet;
+                }
+            }
+            tokens = smallest;
+        }
+        Set<Task> tasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String token : tokens) {
+            if (token.contains(piece)) {
+                tasks.addAll(postings.get(token));
+            }
+        }
+        return tasks;
+    }
+
+    private void addGrams(String token) {
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            gramTokens.computeIfAbsent(token.substring(i, i + GRAM_LENGTH), gram -> new HashSet<>())
+                    .add(token);
+        }
+    }
+
+    private void removeGrams(String token) {
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            String gram = token.substring(i, i + GRAM_LENGTH);
+            Set<String> tokens = gramTokens.get(gram);
+            if (tokens != null) {
+                tokens.remove(token);
+                if (tokens.isEmpty()) {
+                    gramTokens.remove(gram);
+                }
+            }
+        }
+    }
+
+    private ArrayList<Task> sortBySeq(ArrayList<Task> tasks) {
+        tasks.sort((first, second) -> Long.compare(seqs.get(first), seqs.get(second)));
+        return tasks;
+    }
+
+    private static String getLongest(List<String> pieces) {
+        String longest = "";
+        for (String piece : pieces) {
+            if (piece.length() > longest.length()) {
+                longest = piece;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Splits the text into the runs of characters between whitespace, in order.
+     */
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isBreak = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (isBreak && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            } else if (!isBreak && start < 0) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+}
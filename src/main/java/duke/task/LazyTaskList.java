@@ -0,0 +1,197 @@
+package duke.task;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * LazyTaskList class that holds Tasks from a save file without building them up front.
+ * Each Task is only built from its Source the first time it is accessed,
+ * while its status can be checked without building it.
+ * Tasks can be built by several readers at once, as long as nothing modifies the list at the same time.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+
+    // Reads and publishes built Tasks so that readers on other threads see them fully built
+    private static final VarHandle TASKS = MethodHandles.arrayElementVarHandle(Task[].class);
+
+    private final Source source;
+    // Index within the source of each Task that has not been built yet
+    private int[] sourceIdx;
+    // Each Task that has been built or added, null if it has not been built yet
+    private Task[] tasks;
+    private int size;
+
+    /**
+     * Initialises the list with every Task in the source, none of which are built yet.
+     *
+     * @param source Where Tasks are built from.
+     */
+    public LazyTaskList(Source source) {
+        this.source = source;
+        this.size = source.size();
+        this.sourceIdx = new int[Math.max(size, 10)];
+        this.tasks = new Task[sourceIdx.length];
+        for (int i = 0; i < size; i++) {
+            sourceIdx[i] = i;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Builds the Task from the source if this is the first time it is accessed.
+     */
+    @Override
+    public Task get(int idx) {
+        checkIndex(idx, size);
+        Task task = (Task) TASKS.getAcquire(tasks, idx);
+        if (task == null) {
+            Task builtTask = source.load(sourceIdx[idx]);
+            builtTask.setDone(source.isDone(sourceIdx[idx]));
+            // another reader may have built the same Task first, in which case theirs is kept
+            Task otherTask = (Task) TASKS.compareAndExchange(tasks, idx, null, builtTask);
+            task = (otherTask == null) ? builtTask : otherTask;
+        }
+        return task;
+    }
+
+    /**
+     * Check if the Task at the given index is done, without building it.
+     *
+     * @param idx Index of the Task.
+     * @return {@code true} if the Task is done, {@code false} otherwise.
+     */
+    public boolean isDone(int idx) {
+        checkIndex(idx, size);
+        Task task = (Task) TASKS.getAcquire(tasks, idx);
+        return (task != null) ? task.isDone() : source.isDone(sourceIdx[idx]);
+    }
+
+    /**
+     * Get the ID of the Task at the given index, without building it.
+     *
+     * @param idx Index of the Task.
+     * @return ID of the Task.
+     */
+    public long getId(int idx) {
+        checkIndex(idx, size);
+        Task task = (Task) TASKS.getAcquire(tasks, idx);
+        return (task != null) ? task.getId() : source.getId(sourceIdx[idx]);
+    }
+
+    /**
+     * Check if the Task at the given index has been built.
+     *
+     * @param idx Index of the Task.
+     * @return {@code true} if the Task has been built, {@code false} otherwise.
+     */
+    public boolean isLoaded(int idx) {
+        checkIndex(idx, size);
+        return TASKS.getAcquire(tasks, idx) != null;
+    }
+
+    /**
+     * Copies what is left of the source to the heap, so that the save file it was read from can be replaced.
+     * Must not be called while the list is being read by another thread.
+     */
+    public void copySourceToHeap() {
+        source.copyToHeap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task set(int idx, Task task) {
+        Task oldTask = get(idx);
+        tasks[idx] = task;
+        return oldTask;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int idx, Task task) {
+        checkIndex(idx, size + 1);
+        if (size == tasks.length) {
+            int newLength = tasks.length + (tasks.length >> 1);
+            tasks = Arrays.copyOf(tasks, newLength);
+            sourceIdx = Arrays.copyOf(sourceIdx, newLength);
+        }
+        System.arraycopy(tasks, idx, tasks, idx + 1, size - idx);
+        System.arraycopy(sourceIdx, idx, sourceIdx, idx + 1, size - idx);
+        tasks[idx] = task;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task remove(int idx) {
+        Task oldTask = get(idx);
+        System.arraycopy(tasks, idx + 1, tasks, idx, size - idx - 1);
+        System.arraycopy(sourceIdx, idx + 1, sourceIdx, idx, size - idx - 1);
+        size--;
+        tasks[size] = null;
+        modCount++;
+        return oldTask;
+    }
+
+    /**
+     * Removes every Task whose index is set, moving the remaining Tasks down in a single pass
+     * without building any of them.
+     *
+     * @param selected Indexes of the Tasks to remove.
+     */
+    public void removeSelected(BitSet selected) {
+        int kept = 0;
+        for (int idx = 0; idx < size; idx++) {
+            if (!selected.get(idx)) {
+                tasks[kept] = tasks[idx];
+                sourceIdx[kept] = sourceIdx[idx];
+                kept++;
+            }
+        }
+        Arrays.fill(tasks, kept, size, null);
+        size = kept;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static void checkIndex(int idx, int length) {
+        if (idx < 0 || idx >= length) {
+            throw new IndexOutOfBoundsException("Index: " + idx + ", Size: " + length);
+        }
+    }
+
+    /**
+     * Save file that Tasks are built from, one at a time.
+     */
+    public interface Source {
+        int size();
+
+        boolean isDone(int idx);
+
+        long getId(int idx);
+
+        // Stops reading from the save file itself, such as by copying a memory-mapped file to the heap
+        void copyToHeap();
+
+        // Builds the Task with its ID set, but not its status
+        Task load(int idx);
+    }
+
+}
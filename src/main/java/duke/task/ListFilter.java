@@ -0,0 +1,40 @@
+package duke.task;
+
+/**
+ * Which Tasks are shown by the {@code list} command.
+ */
+public enum ListFilter {
+    // every Task
+    ALL(""),
+    // Tasks that are not done
+    TODO(" that are not done"),
+    // Tasks that are done
+    DONE(" that are done"),
+    // Deadlines and Events that are not done, and are due or have ended before now
+    OVERDUE(" that are overdue");
+
+    // Describes the Tasks that are shown, following "tasks in your list"
+    private final String description;
+
+    ListFilter(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the word entered after {@code list} to apply the filter.
+     *
+     * @return Lower-case name of the filter.
+     */
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Get a description of the Tasks that are shown, which is empty for {@link #ALL}.
+     *
+     * @return Description starting with a space, or an empty String.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
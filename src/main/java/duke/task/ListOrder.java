@@ -0,0 +1,38 @@
+package duke.task;
+
+/**
+ * Which order Tasks are shown in by the {@code list} command.
+ */
+public enum ListOrder {
+    // order of the TaskList
+    INDEX(""),
+    // by the date each Deadline is due and each Event ends
+    DUE(" by due date"),
+    // by the date each Event starts and each Deadline is due
+    START(" by start date");
+
+    // Describes the order, following the description of the Tasks that are shown
+    private final String description;
+
+    ListOrder(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the word entered after {@code list --sort} to apply the order.
+     *
+     * @return Lower-case name of the order.
+     */
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Get a description of the order, which is empty for {@link #INDEX}.
+     *
+     * @return Description starting with a space, or an empty String.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
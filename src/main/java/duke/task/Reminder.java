@@ -0,0 +1,55 @@
+package duke.task;
+
+/**
+ * Reminder class that holds what is shown when a Deadline is about to be due, or an Event is about to start.
+ */
+public class Reminder {
+
+    // Task as it is shown in a list
+    private final String taskLine;
+    // Whether the reminder is of an Event starting, rather than of a Deadline being due
+    private final boolean isStart;
+    // When the Deadline is due or the Event starts, in seconds since the epoch
+    private final long dueSeconds;
+
+    /**
+     * Initialises the reminder of a Task.
+     *
+     * @param taskLine Task as it is shown in a list.
+     * @param isStart Whether the Task is an Event that starts at {@code dueSeconds}, rather than a Deadline.
+     * @param dueSeconds When the Deadline is due or the Event starts, in seconds since the epoch.
+     */
+    public Reminder(String taskLine, boolean isStart, long dueSeconds) {
+        this.taskLine = taskLine;
+        this.isStart = isStart;
+        this.dueSeconds = dueSeconds;
+    }
+
+    /**
+     * Get the Task as it is shown in a list.
+     *
+     * @return String describing the Task.
+     */
+    public String getTaskLine() {
+        return taskLine;
+    }
+
+    /**
+     * Check if the reminder is of an Event starting, rather than of a Deadline being due.
+     *
+     * @return {@code true} for an Event, {@code false} for a Deadline.
+     */
+    public boolean isStart() {
+        return isStart;
+    }
+
+    /**
+     * Get when the Deadline is due or the Event starts.
+     *
+     * @return Time in seconds since the epoch.
+     */
+    public long getDueSeconds() {
+        return dueSeconds;
+    }
+
+}
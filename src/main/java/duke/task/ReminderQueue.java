@@ -0,0 +1,235 @@
+package duke.task;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReminderQueue class that keeps the next reminder of every Deadline and Event that is not done in a binary heap
+ * ordered by when it should be raised, so that the next reminder is found without checking every Task.
+ * Deadlines are reminded of ahead of their due date, and Events ahead of their start date, once for each lead time.
+ * Each Task has at most one entry, holding its next reminder, which is also kept by the ID of the Task along with
+ * its place in the heap, so that a Task can be added or removed in O(log n).
+ * The queue can be changed and polled from different threads.
+ */
+public class ReminderQueue {
+
+    private static final int MIN_CAPACITY = 16;
+
+    // Time before the due or start date that each reminder is raised, in seconds, longest first
+    private final long[] leadSeconds;
+    // Called once an entry added to the queue becomes the earliest, outside of any lock held by the queue
+    private final Runnable onEarlier;
+    private Entry[] heap = new Entry[MIN_CAPACITY];
+    private int size;
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * Initialises an empty queue.
+     *
+     * @param leadSeconds Time before the due or start date that each reminder is raised, in seconds, longest first.
+     * @param onEarlier Called when an added Task has the earliest reminder, so that whoever raises reminders
+     *     can wake up earlier than planned.
+     */
+    public ReminderQueue(long[] leadSeconds, Runnable onEarlier) {
+        this.leadSeconds = leadSeconds;
+        this.onEarlier = onEarlier;
+    }
+
+    /**
+     * Adds the reminders of a Task, unless it is done, has no parsed due or start date, or is already due.
+     * If the Task is due before some reminders would have been raised, the latest of those is raised straight away.
+     * A Task that already has reminders keeps them as they are, so that none are raised twice.
+     *
+     * @param task Task that has been added to the TaskList, or marked as not done.
+     */
+    public void add(Task task) {
+        LocalDateTime due = getDueDate(task);
+        if (task.isDone() || due == null) {
+            return;
+        }
+        long dueSeconds = due.atZone(ZoneId.systemDefault()).toEpochSecond();
+        long now = nowSeconds();
+        if (dueSeconds <= now) {
+            return;
+        }
+        Entry entry = new Entry(task.getId(), new Reminder(task.toString(), task instanceof Event, dueSeconds));
+        while (entry.lead + 1 < leadSeconds.length && getTime(entry, entry.lead + 1) <= now) {
+            entry.lead++;
+        }
+        boolean isEarliest;
+        synchronized (this) {
+            if (entries.containsKey(entry.id)) {
+                return;
+            }
+            entry.time = getTime(entry, entry.lead);
+            entries.put(entry.id, entry);
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heap[size] = entry;
+            entry.pos = size;
+            size++;
+            siftUp(entry.pos);
+            isEarliest = heap[0] == entry;
+        }
+        if (isEarliest) {
+            onEarlier.run();
+        }
+    }
+
+    /**
+     * Removes the reminders of a Task, if it has any.
+     *
+     * @param id ID of the Task that has been deleted, or marked as done.
+     */
+    public synchronized void remove(long id) {
+        removeEntry(id);
+    }
+
+    /**
+     * Get when the earliest reminder should be raised.
+     *
+     * @return Time in seconds since the epoch, or {@code Long.MAX_VALUE} if there are no reminders left.
+     */
+    public synchronized long getNextSeconds() {
+        return (size == 0) ? Long.MAX_VALUE : heap[0].time;
+    }
+
+    /**
+     * Takes every reminder that should have been raised by now, and moves each Task on to its next reminder.
+     * Reminders whose time has already passed along with the one being raised are skipped, so that a Task is
+     * only reminded of once however late this is called.
+     *
+     * @param now Current time in seconds since the epoch.
+     * @return Reminders to be raised, earliest first.
+     */
+    public synchronized List<Reminder> pollDue(long now) {
+        List<Reminder> reminders = new ArrayList<>();
+        while (size > 0 && heap[0].time <= now) {
+            Entry entry = heap[0];
+            reminders.add(entry.reminder);
+            entry.lead++;
+            while (entry.lead < leadSeconds.length && getTime(entry, entry.lead) <= now) {
+                entry.lead++;
+            }
+            if (entry.lead == leadSeconds.length) {
+                removeEntry(entry.id);
+            } else {
+                entry.time = getTime(entry, entry.lead);
+                siftDown(0);
+            }
+        }
+        return reminders;
+    }
+
+    /**
+     * Get the number of Tasks with reminders left.
+     *
+     * @return Number of Tasks.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private static LocalDateTime getDueDate(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByDateTime();
+        }
+        if (task instanceof Event) {
+            return ((Event) task).getFromDateTime();
+        }
+        return null;
+    }
+
+    private static long nowSeconds() {
+        return Instant.now().getEpochSecond();
+    }
+
+    private long getTime(Entry entry, int lead) {
+        return entry.reminder.getDueSeconds() - leadSeconds[lead];
+    }
+
+    private void removeEntry(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        size--;
+        if (entry.pos == size) {
+            heap[size] = null;
+            return;
+        }
+        Entry last = heap[size];
+        heap[size] = null;
+        heap[entry.pos] = last;
+        last.pos = entry.pos;
+        siftUp(last.pos);
+        siftDown(last.pos);
+    }
+
+    private void siftUp(int pos) {
+        Entry entry = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!isBefore(entry, heap[parent])) {
+                break;
+            }
+            place(heap[parent], pos);
+            pos = parent;
+        }
+        place(entry, pos);
+    }
+
+    private void siftDown(int pos) {
+        Entry entry = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && isBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!isBefore(heap[child], entry)) {
+                break;
+            }
+            place(heap[child], pos);
+            pos = child;
+        }
+        place(entry, pos);
+    }
+
+    private void place(Entry entry, int pos) {
+        heap[pos] = entry;
+        entry.pos = pos;
+    }
+
+    private static boolean isBefore(Entry first, Entry second) {
+        return first.time < second.time || (first.time == second.time && first.id < second.id);
+    }
+
+    /**
+     * The next reminder of a Task, and its place in the heap.
+     */
+    private static class Entry {
+        private final long id;
+        private final Reminder reminder;
+        // Index of the lead time of the next reminder
+        private int lead;
+        // When the next reminder should be raised, in seconds since the epoch
+        private long time;
+        private int pos;
+
+        private Entry(long id, Reminder reminder) {
+            this.id = id;
+            this.reminder = reminder;
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package duke.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.TreeSet;
+
+/**
+ * SortedDateIndex class that keeps the ID of every Task sorted by one of its dates in a balanced search tree,
+ * so that Tasks can be listed in that order without sorting them again for every list.
+ * Tasks without that date, including those whose date is free text, are kept after every Task with one.
+ * Tasks with the same date, or without one, are kept in the order of the TaskList, as IDs increase along it.
+ */
+public class SortedDateIndex {
+
+    // Sort key of Tasks without a parsed date, after every parsed date
+    private static final long NO_DATE = Long.MAX_VALUE;
+
+    // Which date the Tasks are sorted by
+    private final ListOrder order;
+    private final TreeSet<Key> keys = new TreeSet<>();
+
+    /**
+     * Initialises an empty index.
+     *
+     * @param order Which date the Tasks are sorted by, either {@link ListOrder#DUE} or {@link ListOrder#START}.
+     */
+    public SortedDateIndex(ListOrder order) {
+        this.order = order;
+    }
+
+    /**
+     * Adds a Task that has just been added to the TaskList, in O(log n).
+     *
+     * @param task Task to be indexed, which already has its ID.
+     */
+    public void add(Task task) {
+        keys.add(getKey(task));
+    }
+
+    /**
+     * Removes a Task that has just been deleted from the TaskList, in O(log n).
+     *
+     * @param task Task to be removed from the index.
+     */
+    public void remove(Task task) {
+        keys.remove(getKey(task));
+    }
+
+    /**
+     * Get an iterator over the ID of every Task in order, which must not be used once the index changes.
+     *
+     * @return Iterator over the IDs of the Tasks.
+     */
+    public PrimitiveIterator.OfLong iterateIds() {
+        Iterator<Key> sorted = keys.iterator();
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return sorted.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return sorted.next().id;
+            }
+        };
+    }
+
+    private Key getKey(Task task) {
+        LocalDateTime date = getDate(task);
+        return new Key((date == null) ? NO_DATE : date.toEpochSecond(ZoneOffset.UTC), task.getId());
+    }
+
+    /**
+     * Get the parsed date of a Task that it is sorted by, or null if it has none.
+     */
+    private LocalDateTime getDate(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByDateTime();
+        }
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            return (order == ListOrder.DUE) ? event.getToDateTime() : event.getFromDateTime();
+        }
+        return null;
+    }
+
+    /**
+     * The date a Task is sorted by, and its ID to keep Tasks with the same date in order.
+     */
+    private static class Key implements Comparable<Key> {
+        // Date in seconds, as if in UTC, since only the order matters
+        private final long seconds;
+        private final long id;
+
+        private Key(long seconds, long id) {
+            this.seconds = seconds;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int bySeconds = Long.compare(seconds, other.seconds);
+            return (bySeconds != 0) ? bySeconds : Long.compare(id, other.id);
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package duke.task;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -11,6 +12,12 @@ public abstract class Task {
 
     protected String description;
     protected boolean isDone;
+    // Stable identifier of the Task, 0 until it is added to a TaskList or read from a save file
+    protected long id;
+    // Line shown to the user and line of the save file, cached on first use and cleared whenever the Task changes.
+    // A Task shared between threads is never changed, so each thread can only ever cache an equal String
+    private String displayLine;
+    private String saveLine;
 
     // Formatters used to parse and print date and time
     protected static DateTimeFormatter printPattern = DateTimeFormatter.ofPattern("MMM dd yyyy, hh:mma");
@@ -68,7 +75,49 @@ public abstract class Task {
      * @param done Boolean describing the status of the task
      */
     public void setDone(boolean done) {
-        isDone = done;
+        if (isDone != done) {
+            isDone = done;
+            clearCachedLines();
+        }
+    }
+
+    /**
+     * Get the ID of the Task, which stays the same as other Tasks are added and deleted.
+     *
+     * @return ID of the Task, or 0 if it has not been given one yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Set the ID of the Task.
+     *
+     * @param id ID of the Task, starting from 1.
+     */
+    public void setId(long id) {
+        if (this.id != id) {
+            this.id = id;
+            clearCachedLines();
+        }
+    }
+
+    /**
+     * Get the line of the save file cached for the Task.
+     *
+     * @return Line of the save file, or null if none has been cached since the Task last changed.
+     */
+    public String getSaveLine() {
+        return saveLine;
+    }
+
+    /**
+     * Caches the line of the save file for the Task, to be reused until the Task changes.
+     *
+     * @param saveLine Line of the save file describing the Task as it is now.
+     */
+    public void setSaveLine(String saveLine) {
+        this.saveLine = saveLine;
     }
 
     /**
@@ -81,12 +130,107 @@ public abstract class Task {
         return false;
     }
 
+    /**
+     * Given a range of dates, determine if any of them occurs during the duration of the Task.
+     *
+     * @param start First date of the range
+     * @param end Last date of the range
+     * @return {@code true} if there is overlap, {@code false} otherwise
+     */
+    public Boolean isBetweenDates(LocalDate start, LocalDate end) {
+        return false;
+    }
+
+    /**
+     * Determine if the Task is not done yet, but was due or has ended before the given time.
+     *
+     * @param now Time to be checked against
+     * @return {@code true} if the Task is overdue, {@code false} otherwise
+     */
+    public boolean isOverdue(LocalDateTime now) {
+        return false;
+    }
+
+    /**
+     * Determine if the Task is not done yet, and is due or takes place between the given times.
+     *
+     * @param now Start of the period, before which the Task must not have been due or ended
+     * @param limit End of the period, after which the Task must not be due or start
+     * @return {@code true} if the Task is upcoming, {@code false} otherwise
+     */
+    public boolean isUpcoming(LocalDateTime now, LocalDateTime limit) {
+        return false;
+    }
+
+    /**
+     * Get a copy of the Task, with the same description, dates, status and ID.
+     *
+     * @return New Task that can be changed without changing this one.
+     */
+    public abstract Task copy();
+
+    /**
+     * Appends the Task in desired format to the given StringBuilder,
+     * reusing the line rendered the last time unless the Task has changed since.
+     *
+     * @param sb StringBuilder to append to
+     */
+    public void appendTo(StringBuilder sb) {
+        String line = displayLine;
+        if (line != null) {
+            sb.append(line);
+            return;
+        }
+        int start = sb.length();
+        render(sb);
+        displayLine = sb.substring(start);
+    }
+
+    /**
+     * Renders the Task in desired format into the given StringBuilder, formatting any dates again.
+     *
+     * @param sb StringBuilder to append to
+     */
+    protected void render(StringBuilder sb) {
+        sb.append(description);
+    }
+
+    /**
+     * Appends a date in the format used for printing, or the String describing it if it could not be parsed.
+     *
+     * @param sb StringBuilder to append to
+     * @param date Parsed date, or null if it could not be parsed
+     * @param dateString String describing the date, used only if {@code date} is null
+     */
+    protected static void appendDate(StringBuilder sb, LocalDateTime date, String dateString) {
+        if (date != null) {
+            printPattern.formatTo(date, sb);
+        } else {
+            sb.append(dateString);
+        }
+    }
+
     /**
      * Prints out the Task in desired format
      */
     @Override
     public String toString() {
-        return description;
+        return getDisplayLine();
+    }
+
+    private String getDisplayLine() {
+        String line = displayLine;
+        if (line == null) {
+            StringBuilder sb = new StringBuilder();
+            appendTo(sb);
+            line = sb.toString();
+        }
+        return line;
+    }
+
+    private void clearCachedLines() {
+        displayLine = null;
+        saveLine = null;
     }
 
 }
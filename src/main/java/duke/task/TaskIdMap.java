@@ -0,0 +1,163 @@
+package duke.task;
+
+import java.util.Arrays;
+
+/**
+ * TaskIdMap class that finds the index of a Task in the TaskList from its ID in constant time.
+ * Each ID is kept in an open-addressing hash table of primitives, along with the slot its Task was given.
+ * Slots are handed out in order as Tasks are added to the end, and are not moved when a Task is deleted.
+ * The slot is recorded as a tombstone instead, and the index of a Task is its slot less the number of
+ * tombstones before it. Once tombstones build up, every slot is renumbered to its current index in one pass.
+ */
+public class TaskIdMap {
+
+    // Marks an unused entry of the table, as IDs start from 1
+    private static final long EMPTY = 0;
+    // Marks an entry whose ID has been removed, so that lookups keep probing past it
+    private static final long REMOVED = -1;
+    private static final int MIN_CAPACITY = 16;
+    // Fewest tombstones that trigger renumbering, so that small lists are not renumbered on every deletion
+    private static final int MIN_TOMBSTONES = 64;
+
+    private long[] keys;
+    private int[] slots;
+    // Number of IDs in the table
+    private int size;
+    // Number of entries marked REMOVED
+    private int removedCount;
+    // Number of slots handed out since the last renumbering
+    private int slotCount;
+    // Slots of deleted Tasks since the last renumbering, in increasing order
+    private int[] tombstones = new int[MIN_TOMBSTONES];
+    private int tombstoneCount;
+
+    /**
+     * Initialises an empty map with room for the given number of IDs before it has to grow.
+     *
+     * @param expectedSize Number of IDs expected.
+     */
+    public TaskIdMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity *= 2;
+        }
+        keys = new long[capacity];
+        slots = new int[capacity];
+    }
+
+    /**
+     * Adds the ID of a Task that has just been added to the end of the TaskList.
+     *
+     * @param id ID of the Task, which must not already be in the map.
+     */
+    public void add(long id) {
+        if ((size + removedCount + 1) * 2 > keys.length) {
+            rehash((size + 1) * 2 > keys.length / 2 ? keys.length * 2 : keys.length);
+        }
+        put(id, slotCount++);
+    }
+
+    /**
+     * Get the current index of the Task with the given ID.
+     *
+     * @param id ID of the Task.
+     * @return Index of the Task in the TaskList, or -1 if no Task has that ID.
+     */
+    public int indexOf(long id) {
+        int entry = find(id);
+        if (entry < 0) {
+            return -1;
+        }
+        int slot = slots[entry];
+        // the slot of a Task still in the list is never a tombstone, so this gives the number before it
+        return slot + Arrays.binarySearch(tombstones, 0, tombstoneCount, slot) + 1;
+    }
+
+    /**
+     * Removes the ID of a Task that has just been deleted from the TaskList, leaving a tombstone in its slot.
+     *
+     * @param id ID of the Task.
+     */
+    public void remove(long id) {
+        int entry = find(id);
+        if (entry < 0) {
+            return;
+        }
+        keys[entry] = REMOVED;
+        removedCount++;
+        size--;
+        int slot = slots[entry];
+        int pos = -(Arrays.binarySearch(tombstones, 0, tombstoneCount, slot) + 1);
+        if (tombstoneCount == tombstones.length) {
+            tombstones = Arrays.copyOf(tombstones, tombstoneCount * 2);
+        }
+        System.arraycopy(tombstones, pos, tombstones, pos + 1, tombstoneCount - pos);
+        tombstones[pos] = slot;
+        tombstoneCount++;
+        if (tombstoneCount > Math.max(MIN_TOMBSTONES, size / 8)) {
+            rehash(keys.length);
+        }
+    }
+
+    /**
+     * Get the number of IDs in the map.
+     *
+     * @return Number of IDs.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int find(long id) {
+        int mask = keys.length - 1;
+        for (int entry = hash(id) & mask; ; entry = (entry + 1) & mask) {
+            if (keys[entry] == id) {
+                return entry;
+            }
+            if (keys[entry] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private void put(long id, int slot) {
+        int mask = keys.length - 1;
+        int entry = hash(id) & mask;
+        while (keys[entry] != EMPTY && keys[entry] != REMOVED) {
+            entry = (entry + 1) & mask;
+        }
+        if (keys[entry] == REMOVED) {
+            removedCount--;
+        }
+        keys[entry] = id;
+        slots[entry] = slot;
+        size++;
+    }
+
+    /**
+     * Moves every ID into a table of the given capacity, dropping REMOVED entries,
+     * and renumbers every slot to the current index of its Task, clearing all tombstones.
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[capacity];
+        slots = new int[capacity];
+        size = 0;
+        removedCount = 0;
+        for (int entry = 0; entry < oldKeys.length; entry++) {
+            if (oldKeys[entry] != EMPTY && oldKeys[entry] != REMOVED) {
+                int slot = oldSlots[entry];
+                put(oldKeys[entry], slot + Arrays.binarySearch(tombstones, 0, tombstoneCount, slot) + 1);
+            }
+        }
+        slotCount = size;
+        tombstoneCount = 0;
+    }
+
+    private static int hash(long id) {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+}
@@ -3,7 +3,16 @@ package duke.task;
 import duke.exception.DateOrderException;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * TaskList class that contains the task list.
@@ -11,26 +20,144 @@ import java.util.ArrayList;
 public class TaskList {
 
     // Task list containing all Tasks
-    public ArrayList<Task> allTasks;
+    public List<Task> allTasks;
+    // Whether find and date use indexes instead of checking every Task
+    private boolean isIndexed;
+    // Index of the words in each description, null until the first find
+    private KeywordIndex keywordIndex;
+    // Index of the days each Task occurs on, null until the first date
+    private DateIntervalIndex dateIndex;
+    // Index of every Task sorted by each order, built on the first list in that order
+    private final Map<ListOrder, SortedDateIndex> sortedIndexes = new EnumMap<>(ListOrder.class);
+    // Immutable version of allTasks, republished after every change, null unless snapshots are enabled
+    private volatile TaskSnapshot snapshot;
+    // Index of each Task by its ID, null until the first lookup by ID
+    private TaskIdMap idMap;
+    // ID given to the next Task added, as IDs increase along the list
+    private long nextId;
+    // Next reminder of each Task, kept up to date as Tasks change, null unless reminders are enabled
+    private ReminderQueue reminders;
 
     /**
-     * Initialise allTasks with the given ArrayList.
+     * Initialise allTasks with the given List.
      *
      * @param allTasks List of Tasks.
      */
-    public TaskList(ArrayList<Task> allTasks) {
+    public TaskList(List<Task> allTasks) {
+        this(allTasks, false);
+    }
+
+    /**
+     * Initialise allTasks with the given List.
+     * If {@code isIndexed} is set, a KeywordIndex is built on the first find, and a DateIntervalIndex on the first
+     * date, each kept up to date afterwards.
+     * A ColumnarTaskList is never indexed, as the indexes would keep a Task object for every Task.
+     *
+     * @param allTasks List of Tasks.
+     * @param isIndexed Whether find and date should use indexes.
+     */
+    public TaskList(List<Task> allTasks, boolean isIndexed) {
         this.allTasks = allTasks;
+        this.isIndexed = isIndexed && !(allTasks instanceof ColumnarTaskList);
+        this.nextId = allTasks.isEmpty() ? 1 : getId(allTasks.size() - 1) + 1;
+    }
+
+    /**
+     * Get the ID to give the next Task added, which is past the ID of every Task ever added to the list.
+     *
+     * @return Next ID.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Makes sure that no Task added from now on is given an ID below the given one,
+     * such as the next ID recorded in the save file, so that the ID of a Task deleted before the list was saved
+     * is never given to another Task.
+     *
+     * @param minNextId Lowest ID to give the next Task added, or 0 to keep following the ID of the last Task.
+     */
+    public void reserveIds(long minNextId) {
+        nextId = Math.max(nextId, minNextId);
+    }
+
+    /**
+     * Starts keeping an immutable version of the TaskList, published again after every change,
+     * so that it can be read by other threads through {@link #getSnapshot()} without locking.
+     * Tasks are copied before they are marked from then on, and indexes are no longer used,
+     * as neither could be shared with readers of an older version.
+     * Must be called before the TaskList is shared.
+     */
+    public void enableSnapshots() {
+        isIndexed = false;
+        keywordIndex = null;
+        dateIndex = null;
+        sortedIndexes.clear();
+        snapshot = TaskSnapshot.of(allTasks);
+    }
+
+    /**
+     * Get a read-only TaskList of the latest version of all Tasks, which later changes do not affect.
+     *
+     * @return TaskList over the latest snapshot, or this TaskList if snapshots are not enabled.
+     */
+    public TaskList getSnapshot() {
+        TaskSnapshot latest = snapshot;
+        return (latest == null) ? this : new TaskList(latest);
+    }
+
+    /**
+     * Keeps the reminders of every Task in the given queue from now on, starting with every Task already added.
+     * Tasks that are done are skipped without building them where the List allows it.
+     *
+     * @param reminders Empty queue to hold the reminders.
+     */
+    public void enableReminders(ReminderQueue reminders) {
+        for (int idx = 0; idx < allTasks.size(); idx++) {
+            if (!isDone(idx)) {
+                reminders.add(allTasks.get(idx));
+            }
+        }
+        this.reminders = reminders;
     }
 
     /**
      * Get the list of all Tasks.
      *
-     * @return ArrayList allTasks.
+     * @return List allTasks.
      */
-    public ArrayList<Task> getAllTasks() {
+    public List<Task> getAllTasks() {
         return allTasks;
     }
 
+    /**
+     * Get the ID of the Task at the given index, without building it where the List allows it.
+     *
+     * @param idx Index of the Task.
+     * @return ID of the Task.
+     */
+    public long getId(int idx) {
+        if (allTasks instanceof ColumnarTaskList) {
+            return ((ColumnarTaskList) allTasks).getId(idx);
+        }
+        if (allTasks instanceof LazyTaskList) {
+            return ((LazyTaskList) allTasks).getId(idx);
+        }
+        return allTasks.get(idx).getId();
+    }
+
+    /**
+     * Get the current index of the Task with the given ID.
+     * The IDs are mapped on the first lookup, and kept up to date afterwards.
+     *
+     * @param id ID of the Task.
+     * @return Index of the Task, or -1 if there is no Task with that ID.
+     */
+    public int getIndex(long id) {
+        return getIdMap().indexOf(id);
+    }
+
     /**
      * Get a shortlisted list of all Tasks that overlap with the given date.
      *
@@ -38,6 +165,12 @@ public class TaskList {
      * @return ArrayList of all shortlisted tasks.
      */
     public ArrayList<Task> getTasksOnDate(LocalDate date) {
+        if (allTasks instanceof ColumnarTaskList) {
+            return ((ColumnarTaskList) allTasks).getTasksBetweenDates(date, date);
+        }
+        if (isIndexed) {
+            return getDateIndex().find(date, date);
+        }
         ArrayList<Task> tasksOnDate = new ArrayList<>();
         for (Task task : allTasks) {
             if (task.isOnDate(date)) {
@@ -47,6 +180,63 @@ public class TaskList {
         return tasksOnDate;
     }
 
+    /**
+     * Get a shortlisted list of all Tasks that occur on any day between the given dates, inclusive.
+     *
+     * @param start First date of the range.
+     * @param end Last date of the range.
+     * @return ArrayList of all shortlisted tasks.
+     */
+    public ArrayList<Task> getTasksBetweenDates(LocalDate start, LocalDate end) {
+        if (allTasks instanceof ColumnarTaskList) {
+            return ((ColumnarTaskList) allTasks).getTasksBetweenDates(start, end);
+        }
+        if (isIndexed) {
+            return getDateIndex().find(start, end);
+        }
+        ArrayList<Task> tasksBetweenDates = new ArrayList<>();
+        for (Task task : allTasks) {
+            if (task.isBetweenDates(start, end)) {
+                tasksBetweenDates.add(task);
+            }
+        }
+        return tasksBetweenDates;
+    }
+
+    /**
+     * Get the indexes of all Tasks that are not done, but were due or have ended before the given time.
+     * With indexes, only the Tasks in the date index that end by the day of {@code now} are checked.
+     * Otherwise, every Task is checked the same way as by {@code list overdue}.
+     *
+     * @param now Time that the Tasks are checked against.
+     * @return Indexes of all overdue Tasks, in the order of the TaskList.
+     */
+    public TaskMatches getOverdueTasks(LocalDateTime now) {
+        if (isIndexed && !(allTasks instanceof ColumnarTaskList)) {
+            return toMatches(getDateIndex().findEndingBy(now.toLocalDate()), task -> task.isOverdue(now));
+        }
+        IntStream.Builder idxs = IntStream.builder();
+        PrimitiveIterator.OfInt overdueIdxs = iterateTasks(ListFilter.OVERDUE, ListOrder.INDEX, now);
+        while (overdueIdxs.hasNext()) {
+            idxs.add(overdueIdxs.nextInt());
+        }
+        return new TaskMatches(allTasks, idxs.build().toArray());
+    }
+
+    /**
+     * Get the indexes of all Tasks that are not done, and are due or take place between the given times.
+     * Only the Tasks occurring on the days between the two times are checked, found the same way as by
+     * {@link #getTasksBetweenDates}, so that the date index is shared with it.
+     *
+     * @param now Start of the period.
+     * @param limit End of the period.
+     * @return Indexes of all upcoming Tasks, in the order of the TaskList.
+     */
+    public TaskMatches getUpcomingTasks(LocalDateTime now, LocalDateTime limit) {
+        return toMatches(getTasksBetweenDates(now.toLocalDate(), limit.toLocalDate()),
+                task -> task.isUpcoming(now, limit));
+    }
+
     /**
      * Get a shortlisted list of all Tasks that contain the given keyword in their description.
      *
@@ -54,6 +244,12 @@ public class TaskList {
      * @return ArrayList of all shortlisted tasks.
      */
     public ArrayList<Task> findTasks(String keyword) {
+        if (allTasks instanceof ColumnarTaskList) {
+            return ((ColumnarTaskList) allTasks).findTasks(keyword);
+        }
+        if (isIndexed && !keyword.isBlank()) {
+            return getKeywordIndex().find(keyword);
+        }
         ArrayList<Task> foundTasks = new ArrayList<>();
         for (Task task : allTasks) {
             if (task.description.contains(keyword)) {
@@ -72,6 +268,50 @@ public class TaskList {
         return allTasks.size();
     }
 
+    /**
+     * Get an iterator over the indexes of every Task that passes the given filter, in the given order.
+     * Each Task is only checked as the iterator reaches it, so nothing is shortlisted up front,
+     * and statuses are checked without building Tasks where the List allows it.
+     * Tasks are sorted by an index kept up to date as Tasks are added and deleted, which is built on the first
+     * list in that order, so they are never sorted again.
+     *
+     * @param filter Which Tasks to pass.
+     * @param order Order of the Tasks.
+     * @param now Time that overdue Tasks are checked against.
+     * @return Iterator over the indexes of the Tasks that pass.
+     */
+    public PrimitiveIterator.OfInt iterateTasks(ListFilter filter, ListOrder order, LocalDateTime now) {
+        if (order != ListOrder.INDEX) {
+            return iterateSorted(getSortedIndex(order).iterateIds(), filter, now);
+        }
+        return new PrimitiveIterator.OfInt() {
+            private int next = findNext(0);
+
+            @Override
+            public boolean hasNext() {
+                return next < allTasks.size();
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int idx = next;
+                next = findNext(idx + 1);
+                return idx;
+            }
+
+            private int findNext(int from) {
+                int idx = from;
+                while (idx < allTasks.size() && !isPassing(idx, filter, now)) {
+                    idx++;
+                }
+                return idx;
+            }
+        };
+    }
+
     /**
      * Sets the status for the Task at given index.
      *
@@ -79,7 +319,123 @@ public class TaskList {
      * @param isDone Status the Task should be updated to.
      */
     public void markStatus(int idx, boolean isDone) {
-        allTasks.get(idx).setDone(isDone);
+        Task task = allTasks.get(idx);
+        if (snapshot != null) {
+            // the Task may still be read from an older snapshot, so only a copy is changed
+            task = task.copy();
+        }
+        task.setDone(isDone);
+        // set back in case the List only holds a copy of the Task
+        allTasks.set(idx, task);
+        if (reminders != null) {
+            updateReminders(task);
+        }
+        if (snapshot != null) {
+            snapshot = snapshot.withSet(idx, task);
+        }
+    }
+
+    /**
+     * Get the indexes of every Task in the given selection.
+     * Statuses and descriptions are checked without building Tasks where the List allows it.
+     *
+     * @param selection Range, status, and keyword of the Tasks to select.
+     * @return Indexes of the selected Tasks.
+     */
+    public BitSet selectTasks(TaskSelection selection) {
+        BitSet selected = new BitSet();
+        int end = Math.min(selection.getEnd(), allTasks.size() - 1);
+        for (int idx = selection.getStart(); idx <= end; idx++) {
+            if (selection.getIsDone() != null && isDone(idx) != selection.getIsDone()) {
+                continue;
+            }
+            if (selection.getKeyword() != null && !getDescription(idx).contains(selection.getKeyword())) {
+                continue;
+            }
+            selected.set(idx);
+        }
+        return selected;
+    }
+
+    /**
+     * Sets the status of every Task whose index is set.
+     * A snapshot, if enabled, is rebuilt once at the end instead of after each Task.
+     *
+     * @param selected Indexes of the Tasks to update.
+     * @param isDone Status the Tasks should be updated to.
+     */
+    public void markTasks(BitSet selected, boolean isDone) {
+        for (int idx = selected.nextSetBit(0); idx >= 0; idx = selected.nextSetBit(idx + 1)) {
+            if (allTasks instanceof ColumnarTaskList) {
+                ((ColumnarTaskList) allTasks).setDone(idx, isDone);
+                if (reminders != null) {
+                    updateReminders(allTasks.get(idx));
+                }
+                continue;
+            }
+            Task task = allTasks.get(idx);
+            if (snapshot != null) {
+                // the Task may still be read from an older snapshot, so only a copy is changed
+                task = task.copy();
+            }
+            task.setDone(isDone);
+            allTasks.set(idx, task);
+            if (reminders != null) {
+                updateReminders(task);
+            }
+        }
+        if (snapshot != null) {
+            snapshot = TaskSnapshot.of(allTasks);
+        }
+    }
+
+    /**
+     * Deletes every Task whose index is set, moving the remaining Tasks down in a single pass
+     * instead of once for each deleted Task.
+     *
+     * @param selected Indexes of the Tasks to delete.
+     */
+    public void deleteTasks(BitSet selected) {
+        if (reminders != null) {
+            for (int idx = selected.nextSetBit(0); idx >= 0; idx = selected.nextSetBit(idx + 1)) {
+                reminders.remove(getId(idx));
+            }
+        }
+        if (keywordIndex != null || dateIndex != null || !sortedIndexes.isEmpty()) {
+            for (int idx = selected.nextSetBit(0); idx >= 0; idx = selected.nextSetBit(idx + 1)) {
+                Task deletedTask = allTasks.get(idx);
+                if (keywordIndex != null) {
+                    keywordIndex.remove(deletedTask);
+                }
+                if (dateIndex != null) {
+                    dateIndex.remove(deletedTask);
+                }
+                for (SortedDateIndex sortedIndex : sortedIndexes.values()) {
+                    sortedIndex.remove(deletedTask);
+                }
+            }
+        }
+        if (allTasks instanceof ColumnarTaskList) {
+            ((ColumnarTaskList) allTasks).removeSelected(selected);
+        } else if (allTasks instanceof LazyTaskList) {
+            ((LazyTaskList) allTasks).removeSelected(selected);
+        } else {
+            int kept = 0;
+            for (int idx = 0; idx < allTasks.size(); idx++) {
+                if (!selected.get(idx)) {
+                    if (kept != idx) {
+                        allTasks.set(kept, allTasks.get(idx));
+                    }
+                    kept++;
+                }
+            }
+            allTasks.subList(kept, allTasks.size()).clear();
+        }
+        // remapped on the next lookup, which costs no more than removing each ID
+        idMap = null;
+        if (snapshot != null) {
+            snapshot = TaskSnapshot.of(allTasks);
+        }
     }
 
     /**
@@ -88,7 +444,25 @@ public class TaskList {
      * @param idx Given index.
      */
     public void deleteTask(int idx) {
-        allTasks.remove(idx);
+        Task deletedTask = allTasks.remove(idx);
+        if (keywordIndex != null) {
+            keywordIndex.remove(deletedTask);
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(deletedTask);
+        }
+        for (SortedDateIndex sortedIndex : sortedIndexes.values()) {
+            sortedIndex.remove(deletedTask);
+        }
+        if (idMap != null) {
+            idMap.remove(deletedTask.getId());
+        }
+        if (reminders != null) {
+            reminders.remove(deletedTask.getId());
+        }
+        if (snapshot != null) {
+            snapshot = snapshot.withRemoved(idx);
+        }
     }
 
     /**
@@ -97,7 +471,7 @@ public class TaskList {
      * @param param String describing the Todo.
      */
     public void addToDo(String param) {
-        allTasks.add(new ToDo(param));
+        addTask(new ToDo(param));
     }
 
     /**
@@ -107,7 +481,7 @@ public class TaskList {
      * @param by String describing due date.
      */
     public void addDeadline(String param, String by) {
-        allTasks.add(new Deadline(param, by));
+        addTask(new Deadline(param, by));
     }
 
     /**
@@ -119,7 +493,219 @@ public class TaskList {
      * @throws DateOrderException If the end date occurs before the start date.
      */
     public void addEvent(String param, String from, String to) throws DateOrderException {
-        allTasks.add(new Event(param, from, to));
+        addTask(new Event(param, from, to));
+    }
+
+    private void addTask(Task task) {
+        task.setId(nextId++);
+        allTasks.add(task);
+        if (idMap != null) {
+            idMap.add(task.getId());
+        }
+        if (keywordIndex != null) {
+            keywordIndex.add(task);
+        }
+        if (dateIndex != null) {
+            dateIndex.add(task);
+        }
+        for (SortedDateIndex sortedIndex : sortedIndexes.values()) {
+            sortedIndex.add(task);
+        }
+        if (reminders != null) {
+            reminders.add(task);
+        }
+        if (snapshot != null) {
+            snapshot = snapshot.withAdded(task);
+        }
+    }
+
+    /**
+     * Puts back Tasks that were deleted, such as when a delete is undone, each at the index it had before.
+     * Each Task keeps its ID, which must fit between the IDs of the Tasks around it.
+     * Many Tasks are put back in a single pass, moving the Tasks after them only once.
+     *
+     * @param idxs Index that each Task will be at once all are put back, in increasing order.
+     * @param insertedTasks Tasks to put back, in the same order.
+     */
+    public void insertTasks(int[] idxs, List<Task> insertedTasks) {
+        if (idxs.length == 1) {
+            allTasks.add(idxs[0], insertedTasks.get(0));
+        } else {
+            int src = allTasks.size() - 1;
+            // grows the List first, as every Task from the first index onwards is then overwritten
+            allTasks.addAll(insertedTasks);
+            int dst = allTasks.size() - 1;
+            for (int i = idxs.length - 1; i >= 0; i--) {
+                while (dst > idxs[i]) {
+                    allTasks.set(dst--, allTasks.get(src--));
+                }
+                allTasks.set(dst--, insertedTasks.get(i));
+            }
+        }
+        for (Task task : insertedTasks) {
+            if (keywordIndex != null) {
+                keywordIndex.add(task);
+            }
+            if (dateIndex != null) {
+                dateIndex.add(task);
+            }
+            for (SortedDateIndex sortedIndex : sortedIndexes.values()) {
+                sortedIndex.add(task);
+            }
+            if (reminders != null) {
+                reminders.add(task);
+            }
+        }
+        // remapped on the next lookup, as every Task after the first one put back has moved
+        idMap = null;
+        if (snapshot != null) {
+            snapshot = TaskSnapshot.of(allTasks);
+        }
+    }
+
+    /**
+     * Removes the reminders of a Task that has been marked as done, or adds them back once it is not.
+     */
+    private void updateReminders(Task task) {
+        if (task.isDone()) {
+            reminders.remove(task.getId());
+        } else {
+            reminders.add(task);
+        }
+    }
+
+    /**
+     * Checks if the Task at the given index is done, without building it where the List allows it.
+     *
+     * @param idx Index of the Task.
+     * @return {@code true} if the Task is done, {@code false} otherwise.
+     */
+    public boolean isDone(int idx) {
+        if (allTasks instanceof ColumnarTaskList) {
+            return ((ColumnarTaskList) allTasks).isDone(idx);
+        }
+        if (allTasks instanceof LazyTaskList) {
+            return ((LazyTaskList) allTasks).isDone(idx);
+        }
+        return allTasks.get(idx).isDone();
+    }
+
+    private boolean isPassing(int idx, ListFilter filter, LocalDateTime now) {
+        switch (filter) {
+        case TODO:
+            return !isDone(idx);
+        case DONE:
+            return isDone(idx);
+        case OVERDUE:
+            if (allTasks instanceof ColumnarTaskList) {
+                return ((ColumnarTaskList) allTasks).isOverdue(idx, now);
+            }
+            // only Tasks that are not done can be overdue, which is checked first as it is cheaper
+            return !isDone(idx) && allTasks.get(idx).isOverdue(now);
+        default:
+            return true;
+        }
+    }
+
+    /**
+     * Get an iterator over the indexes of the Tasks with the given IDs that pass the filter, in the same order.
+     */
+    private PrimitiveIterator.OfInt iterateSorted(PrimitiveIterator.OfLong ids, ListFilter filter,
+            LocalDateTime now) {
+        return new PrimitiveIterator.OfInt() {
+            private int next = findNext();
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int idx = next;
+                next = findNext();
+                return idx;
+            }
+
+            private int findNext() {
+                while (ids.hasNext()) {
+                    int idx = getIndex(ids.nextLong());
+                    if (isPassing(idx, filter, now)) {
+                        return idx;
+                    }
+                }
+                return -1;
+            }
+        };
+    }
+
+    /**
+     * Get the indexes of the given Tasks that match, looked up by their IDs.
+     *
+     * @param candidates Tasks to be checked, in the order of the TaskList.
+     * @param isMatch Checks if a Task matches.
+     * @return Indexes of the matching Tasks, in the order of the TaskList.
+     */
+    private TaskMatches toMatches(List<Task> candidates, Predicate<Task> isMatch) {
+        IntStream.Builder idxs = IntStream.builder();
+        for (Task task : candidates) {
+            if (isMatch.test(task)) {
+                idxs.add(getIndex(task.getId()));
+            }
+        }
+        return new TaskMatches(allTasks, idxs.build().toArray());
+    }
+
+    private String getDescription(int idx) {
+        if (allTasks instanceof ColumnarTaskList) {
+            return ((ColumnarTaskList) allTasks).getDescription(idx);
+        }
+        return allTasks.get(idx).description;
+    }
+
+    private synchronized TaskIdMap getIdMap() {
+        if (idMap == null) {
+            idMap = new TaskIdMap(allTasks.size());
+            for (int idx = 0; idx < allTasks.size(); idx++) {
+                idMap.add(getId(idx));
+            }
+        }
+        return idMap;
+    }
+
+    private synchronized KeywordIndex getKeywordIndex() {
+        if (keywordIndex == null) {
+            keywordIndex = new KeywordIndex();
+            for (Task task : allTasks) {
+                keywordIndex.add(task);
+            }
+        }
+        return keywordIndex;
+    }
+
+    private synchronized SortedDateIndex getSortedIndex(ListOrder order) {
+        SortedDateIndex sortedIndex = sortedIndexes.get(order);
+        if (sortedIndex == null) {
+            sortedIndex = new SortedDateIndex(order);
+            for (Task task : allTasks) {
+                sortedIndex.add(task);
+            }
+            sortedIndexes.put(order, sortedIndex);
+        }
+        return sortedIndex;
+    }
+
+    private synchronized DateIntervalIndex getDateIndex() {
+        if (dateIndex == null) {
+            dateIndex = new DateIntervalIndex();
+            for (Task task : allTasks) {
+                dateIndex.add(task);
+            }
+        }
+        return dateIndex;
     }
 
 }
@@ -0,0 +1,56 @@
+package duke.task;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * TaskMatches class that holds the indexes of the Tasks in a TaskList that matched a query, along with the Tasks of
+ * that TaskList, so that the matches can be printed numbered by their index, the same as by the {@code list} command.
+ */
+public class TaskMatches {
+
+    // Every Task of the TaskList that was queried
+    private final List<Task> allTasks;
+    // Index of each matching Task, in the order of the TaskList
+    private final int[] idxs;
+
+    /**
+     * Initialises the matches of a query.
+     *
+     * @param allTasks Every Task of the TaskList that was queried.
+     * @param idxs Index of each matching Task, in the order of the TaskList.
+     */
+    public TaskMatches(List<Task> allTasks, int[] idxs) {
+        this.allTasks = allTasks;
+        this.idxs = idxs;
+    }
+
+    /**
+     * Get every Task of the TaskList that was queried, which the indexes refer to.
+     *
+     * @return List of all Tasks.
+     */
+    public List<Task> getAllTasks() {
+        return allTasks;
+    }
+
+    /**
+     * Get an iterator over the index of each matching Task, in the order of the TaskList.
+     *
+     * @return Iterator over the indexes.
+     */
+    public PrimitiveIterator.OfInt iterateIdxs() {
+        return Arrays.stream(idxs).iterator();
+    }
+
+    /**
+     * Get the number of matching Tasks.
+     *
+     * @return Number of Tasks.
+     */
+    public int size() {
+        return idxs.length;
+    }
+
+}
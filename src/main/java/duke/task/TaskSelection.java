@@ -0,0 +1,68 @@
+package duke.task;
+
+/**
+ * TaskSelection class that describes which Tasks a bulk command applies to: those within a range of indexes,
+ * optionally only those of a given status, and optionally only those containing a keyword.
+ */
+public class TaskSelection {
+
+    // First and last index of the range, inclusive
+    private final int start;
+    private final int end;
+    // Status of the Tasks selected, null to select Tasks of either status
+    private final Boolean isDone;
+    // Keyword that selected Tasks must contain, null to select Tasks regardless of description
+    private final String keyword;
+
+    /**
+     * Initialises the selection.
+     *
+     * @param start Index of the first Task in the range.
+     * @param end Index of the last Task in the range.
+     * @param isDone Status of the Tasks selected, or null to select Tasks of either status.
+     * @param keyword Keyword that selected Tasks must contain, or null to select Tasks regardless of description.
+     */
+    public TaskSelection(int start, int end, Boolean isDone, String keyword) {
+        this.start = start;
+        this.end = end;
+        this.isDone = isDone;
+        this.keyword = keyword;
+    }
+
+    /**
+     * Get the index of the first Task in the range.
+     *
+     * @return First index.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Get the index of the last Task in the range.
+     *
+     * @return Last index, inclusive.
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Get the status of the Tasks selected.
+     *
+     * @return Status, or null if Tasks of either status are selected.
+     */
+    public Boolean getIsDone() {
+        return isDone;
+    }
+
+    /**
+     * Get the keyword that selected Tasks must contain.
+     *
+     * @return Keyword, or null if Tasks are selected regardless of description.
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+}
@@ -0,0 +1,166 @@
+package duke.task;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * TaskSnapshot class that holds an immutable version of a list of Tasks.
+ * Each change returns a new version that shares all but one chunk of the Tasks with the old one,
+ * so a version can be read on any thread without locking while newer versions are being made.
+ * The Tasks themselves must not be changed once they are in a version.
+ */
+public class TaskSnapshot extends AbstractList<Task> implements RandomAccess {
+
+    // Most Tasks held in each chunk
+    private static final int CHUNK_SIZE = 512;
+
+    private final Task[][] chunks;
+    // Index of the first Task of each chunk, followed by the total number of Tasks
+    private final int[] offsets;
+
+    private TaskSnapshot(Task[][] chunks, int[] offsets) {
+        this.chunks = chunks;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Get a version holding every Task in the given List.
+     *
+     * @param allTasks Tasks to be held, which must not be changed afterwards.
+     * @return New version of the list.
+     */
+    public static TaskSnapshot of(List<Task> allTasks) {
+        int size = allTasks.size();
+        int chunkCount = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Task[][] chunks = new Task[chunkCount][];
+        int[] offsets = new int[chunkCount + 1];
+        for (int c = 0; c < chunkCount; c++) {
+            int start = c * CHUNK_SIZE;
+            int end = Math.min(start + CHUNK_SIZE, size);
+            chunks[c] = allTasks.subList(start, end).toArray(new Task[0]);
+            offsets[c] = start;
+        }
+        offsets[chunkCount] = size;
+        return new TaskSnapshot(chunks, offsets);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task get(int idx) {
+        int c = findChunk(idx);
+        return chunks[c][idx - offsets[c]];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return offsets[chunks.length];
+    }
+
+    /**
+     * Get a version with the given Task in place of the Task at the given index.
+     *
+     * @param idx Index of the Task to replace.
+     * @param task Task to be held instead.
+     * @return New version of the list.
+     */
+    public TaskSnapshot withSet(int idx, Task task) {
+        int c = findChunk(idx);
+        Task[][] newChunks = chunks.clone();
+        newChunks[c] = chunks[c].clone();
+        newChunks[c][idx - offsets[c]] = task;
+        return new TaskSnapshot(newChunks, offsets);
+    }
+
+    /**
+     * Get a version with the given Task added to the end.
+     *
+     * @param task Task to be added.
+     * @return New version of the list.
+     */
+    public TaskSnapshot withAdded(Task task) {
+        int last = chunks.length - 1;
+        if (last >= 0 && chunks[last].length < CHUNK_SIZE) {
+            Task[][] newChunks = chunks.clone();
+            newChunks[last] = Arrays.copyOf(chunks[last], chunks[last].length + 1);
+            newChunks[last][chunks[last].length] = task;
+            int[] newOffsets = offsets.clone();
+            newOffsets[chunks.length]++;
+            return new TaskSnapshot(newChunks, newOffsets);
+        }
+        Task[][] newChunks = Arrays.copyOf(chunks, chunks.length + 1);
+        newChunks[chunks.length] = new Task[] {task};
+        int[] newOffsets = Arrays.copyOf(offsets, offsets.length + 1);
+        newOffsets[offsets.length] = newOffsets[chunks.length] + 1;
+        return new TaskSnapshot(newChunks, newOffsets);
+    }
+
+    /**
+     * Get a version without the Task at the given index.
+     * A chunk left less than half full is merged with the next one if they fit in one chunk together,
+     * so that chunks stay large after many deletions.
+     *
+     * @param idx Index of the Task to remove.
+     * @return New version of the list.
+     */
+    public TaskSnapshot withRemoved(int idx) {
+        int c = findChunk(idx);
+        Task[] chunk = chunks[c];
+        int pos = idx - offsets[c];
+        Task[] newChunk = new Task[chunk.length - 1];
+        System.arraycopy(chunk, 0, newChunk, 0, pos);
+        System.arraycopy(chunk, pos + 1, newChunk, pos, chunk.length - pos - 1);
+
+        int next = c + 1;
+        boolean isMerged = newChunk.length < CHUNK_SIZE / 2 && next < chunks.length
+                && newChunk.length + chunks[next].length <= CHUNK_SIZE;
+        if (isMerged) {
+            Task[] merged = Arrays.copyOf(newChunk, newChunk.length + chunks[next].length);
+            System.arraycopy(chunks[next], 0, merged, newChunk.length, chunks[next].length);
+            newChunk = merged;
+        }
+        // an empty chunk is dropped, as is the next chunk once it has been merged in
+        int dropped = (newChunk.length == 0) ? c : (isMerged ? next : -1);
+        int newCount = (dropped < 0) ? chunks.length : chunks.length - 1;
+        Task[][] newChunks = new Task[newCount][];
+        int[] newOffsets = new int[newCount + 1];
+        for (int i = 0, j = 0; i <= chunks.length; i++) {
+            if (i == dropped) {
+                continue;
+            }
+            if (i < chunks.length) {
+                newChunks[j] = (i == c) ? newChunk : chunks[i];
+            }
+            newOffsets[j] = (i > c) ? offsets[i] - 1 : offsets[i];
+            j++;
+        }
+        return new TaskSnapshot(newChunks, newOffsets);
+    }
+
+    /**
+     * Finds the chunk holding the Task at the given index.
+     */
+    private int findChunk(int idx) {
+        if (idx < 0 || idx >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + idx + ", Size: " + size());
+        }
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= idx) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+}
@@ -28,8 +28,19 @@ public class ToDo extends Task {
      * {@inheritDoc}
      */
     @Override
-    public String toString() {
-        return "[" + TODO_LABEL + "][" + getStatus() + "] " + description;
+    public Task copy() {
+        ToDo copy = new ToDo(description);
+        copy.setDone(isDone);
+        copy.setId(id);
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void render(StringBuilder sb) {
+        sb.append('[').append(TODO_LABEL).append("][").append(getStatus()).append("] ").append(description);
     }
 
 }
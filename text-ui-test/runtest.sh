@@ -21,8 +21,12 @@ fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
 cp save_test.txt save.txt
+rm -f save.txt.*
 java -classpath ../bin duke.Duke < input.txt > ACTUAL.TXT
 
+# run the program again on the same save file, feeding commands from input2.txt, to check what outlives a restart
+java -classpath ../bin duke.Duke < input2.txt >> ACTUAL.TXT
+
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT
 dos2unix ACTUAL.TXT EXPECTED-UNIX.TXT